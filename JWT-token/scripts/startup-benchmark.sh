@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Замер времени от запуска JVM до первого HTTP-ответа.
+#
+#   ./scripts/startup-benchmark.sh            # обычный bootJar
+#   ./scripts/startup-benchmark.sh --fast     # AOT + CDS (./gradlew -PfastStartup bootJar cdsArchive)
+#
+# Переменные окружения: RUNS (число запусков, по умолчанию 5), PORT (8080),
+# PROFILES (prod), JAVA (java из тулчейна), EXTRA_ARGS (доп. аргументы приложения).
+# Нужна доступная БД из spring.datasource.*.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+PROFILES=${PROFILES:-prod}
+JAVA=${JAVA:-java}
+MODE=${1:-}
+
+if [[ "$MODE" == "--fast" ]]; then
+    JAR=$(ls build/cds/*.jar)
+    JVM_ARGS=(-XX:SharedArchiveFile=build/cds/app.jsa -Dspring.aot.enabled=true)
+    LABEL="aot+cds"
+else
+    JAR=$(ls build/libs/*.jar | grep -v -- '-plain.jar')
+    JVM_ARGS=()
+    LABEL="baseline"
+fi
+
+now_ms() { date +%s%3N; }
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+    start=$(now_ms)
+    "$JAVA" "${JVM_ARGS[@]}" -jar "$JAR" --server.port="$PORT" \
+        --spring.profiles.active="$PROFILES" ${EXTRA_ARGS:-} >/dev/null 2>&1 &
+    pid=$!
+    # Любой HTTP-ответ (в том числе 401/403) означает, что запрос обслужен
+    until curl -s -o /dev/null "http://localhost:$PORT/example"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Приложение завершилось до первого ответа" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$LABEL run $run: ${elapsed} ms"
+    total=$(( total + elapsed ))
+done
+echo "$LABEL average time-to-first-request: $(( total / RUNS )) ms"
@@ -0,0 +1,32 @@
+package project.malina.benchmark;
+
+import org.springframework.test.util.ReflectionTestUtils;
+import project.malina.Security.Role;
+import project.malina.Security.User;
+import project.malina.Services.JwtService;
+
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+    static final String SIGNING_KEY = "ICPCHUAWEISHHADREPEATICPCHUAWEISHHADREPEATICPCHUAWEISHHADREPEAT";
+
+    private BenchmarkFixtures() {
+        // Utility class constructor
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSigningKey", SIGNING_KEY);
+        return jwtService;
+    }
+
+    static User user(final String username) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username(username)
+                .email(username + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoO5h1k6bQ1J7Yc8Q0Z8nX6U4dJ9tQ1S2a")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package project.malina.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import project.malina.matching.CandidatePool;
+import project.malina.matching.CandidateScorer;
+import project.malina.matching.InterestVector;
+import project.malina.matching.ScoredCandidate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ранжирование пула кандидатов по общим интересам: битовые маски против пересечения строковых множеств
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CandidateScorerBenchmark {
+    private static final int DICTIONARY_SIZE = 200;
+    private static final int LIMIT = 50;
+
+    @Param({"10000"})
+    private int candidates;
+
+    private final CandidateScorer scorer = new CandidateScorer();
+    private InterestVector query;
+    private CandidatePool pool;
+    private Set<String> queryNames;
+    private List<Set<String>> candidateNames;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        query = randomVector(random);
+        queryNames = names(query);
+        UUID[] ids = new UUID[candidates];
+        InterestVector[] vectors = new InterestVector[candidates];
+        for (int i = 0; i < candidates; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            vectors[i] = randomVector(random);
+        }
+        pool = CandidatePool.of(ids, vectors, query);
+        candidateNames = Arrays.stream(vectors).map(CandidateScorerBenchmark::names).toList();
+    }
+
+    @Benchmark
+    public List<ScoredCandidate> bitsetTopK() {
+        return scorer.topK(query, pool, LIMIT);
+    }
+
+    @Benchmark
+    public int[] stringIntersection() {
+        int[] scores = new int[candidateNames.size()];
+        for (int i = 0; i < scores.length; i++) {
+            Set<String> common = new HashSet<>(candidateNames.get(i));
+            common.retainAll(queryNames);
+            scores[i] = common.size();
+        }
+        return scores;
+    }
+
+    private static InterestVector randomVector(final Random random) {
+        int[] bits = new int[3 + random.nextInt(10)];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = random.nextInt(DICTIONARY_SIZE);
+        }
+        return InterestVector.of(bits);
+    }
+
+    private static Set<String> names(final InterestVector vector) {
+        Set<String> names = new HashSet<>();
+        for (int bit = 0; bit < DICTIONARY_SIZE; bit++) {
+            if (vector.contains(bit)) {
+                names.add("interest-" + bit);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,68 @@
+package project.malina.benchmark;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import project.malina.Security.JwtAuthenticationFilter;
+import project.malina.Security.User;
+import project.malina.Services.JwtService;
+import project.malina.Services.UserService;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный проход JwtAuthenticationFilter: разбор заголовка, проверка подписи,
+ * загрузка пользователя (без БД) и заполнение SecurityContext
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService();
+        User user = BenchmarkFixtures.user("benchmark");
+        UserService userService = new UserService(null, null) {
+            @Override
+            public UserDetailsService userDetailsService() {
+                return username -> user;
+            }
+        };
+        filter = new JwtAuthenticationFilter(jwtService, userService);
+        authorization = JwtAuthenticationFilter.BEARER_PREFIX + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/example");
+        request.addHeader(JwtAuthenticationFilter.HEADER_NAME, authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/example");
+        filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+        return request;
+    }
+}
@@ -0,0 +1,85 @@
+package project.malina.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import project.malina.MalinaApplication;
+import project.malina.Security.Role;
+import project.malina.Security.User;
+import project.malina.Services.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Создание пользователей через UserService на H2 в режиме PostgreSQL (как в тестовом профиле)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+    private static final int IMPORT_SIZE = 100;
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Аргументы командной строки имеют приоритет над application.properties
+        context = new SpringApplicationBuilder(MalinaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.flyway.enabled=false",
+                        "--logging.level.project.malina=warn");
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User create() {
+        return userService.create(nextUser());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IMPORT_SIZE)
+    public List<User> createAll() {
+        List<User> users = new ArrayList<>(IMPORT_SIZE);
+        for (int i = 0; i < IMPORT_SIZE; i++) {
+            users.add(nextUser());
+        }
+        return userService.createAll(users);
+    }
+
+    private User nextUser() {
+        long id = sequence.incrementAndGet();
+        return User.builder()
+                .username("user" + id)
+                .email("user" + id + "@example.com")
+                .password("hash")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+}
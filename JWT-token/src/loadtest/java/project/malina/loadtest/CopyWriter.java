@@ -0,0 +1,76 @@
+package project.malina.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Потоковая запись строк в COPY ... FROM STDIN (текстовый формат).
+ * <p>
+ * Строки копятся в буфере и уходят на сервер порциями, поэтому объём памяти
+ * не зависит от количества строк. Загрузка фиксируется только вызовом {@link #finish()}:
+ * если блок try-with-resources завершился исключением, {@link #close()} отменяет COPY,
+ * и на сервере не остаётся части строк.
+ */
+final class CopyWriter implements AutoCloseable {
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+    private long rows;
+    private boolean finished;
+
+    CopyWriter(final Connection connection, final String table, final String columns) throws SQLException {
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+    }
+
+    /**
+     * Начало новой строки; значения добавляются через {@link #value}
+     */
+    StringBuilder row() {
+        rows++;
+        return buffer;
+    }
+
+    /**
+     * Завершение строки
+     */
+    void end() throws SQLException {
+        buffer.setCharAt(buffer.length() - 1, '\n');
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    static StringBuilder value(final StringBuilder row, final Object value) {
+        return row.append(value == null ? "\\N" : value).append('\t');
+    }
+
+    /**
+     * Отправка остатка буфера и завершение COPY
+     *
+     * @return число записанных строк
+     */
+    long finish() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        finished = true;
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!finished && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
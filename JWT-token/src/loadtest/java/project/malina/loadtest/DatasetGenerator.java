@@ -0,0 +1,426 @@
+package project.malina.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static project.malina.loadtest.CopyWriter.value;
+
+/**
+ * Генератор синтетического набора данных для оценки размеров продакшена.
+ * <p>
+ * Пользователи, профили, фотографии, лайки, мэтчи и сообщения загружаются через COPY потоком,
+ * в памяти держатся только идентификаторы пользователей. Все распределения задаются параметрами
+ * и детерминированы по seed, поэтому один и тот же набор можно воспроизвести на любом стенде.
+ * <p>
+ * Запуск: {@code ./gradlew generateDataset -Pargs="--users=1000000 --likes-per-user=150"}
+ *
+ * <ul>
+ *     <li>--jdbc-url, --db-user, --db-password: подключение к PostgreSQL со схемой из миграций Flyway;</li>
+ *     <li>--users: количество пользователей (у каждого профиль);</li>
+ *     <li>--seed: зерно генератора;</li>
+ *     <li>--geo-clusters, --geo-spread-km, --geo-uniform: число городов-кластеров, разброс вокруг центра
+ *     и доля пользователей, равномерно рассеянных по всей территории;</li>
+ *     <li>--photos-per-profile: среднее число фотографий;</li>
+ *     <li>--likes-per-user, --like-skew, --positive-ratio: среднее число оценок, показатель Ципфа
+ *     для популярности (0 — равномерно) и доля положительных оценок;</li>
+ *     <li>--matches-per-user, --chat-active-ratio, --messages-per-chat: среднее число мэтчей,
+ *     доля переписок с сообщениями и средняя длина переписки;</li>
+ *     <li>--history-days: глубина истории для дат;</li>
+ *     <li>--password: пароль всех сгенерированных пользователей (логин userN);</li>
+ *     <li>--truncate: очистить таблицы перед загрузкой;</li>
+ *     <li>--skip-checks: отключить внешние ключи и триггеры на время загрузки
+ *     (session_replication_role = replica, нужны права суперпользователя).</li>
+ * </ul>
+ */
+public final class DatasetGenerator {
+    private static final long PROFILE_ID_SALT = 0x5A5A_5A5A_0000_0000L;
+    private static final long PHOTO_SEED_SALT = 0x1L;
+    private static final long LIKE_SEED_SALT = 0x2L;
+    private static final long MATCH_SEED_SALT = 0x3L;
+    private static final long MESSAGE_SEED_SALT = 0x4L;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int MIN_AGE = 18;
+    private static final int MAX_AGE = 70;
+    private static final int PROGRESS_STEP = 1_000_000;
+
+    /**
+     * Центры кластеров: название, широта, долгота, относительный вес
+     */
+    private static final Object[][] CITIES = {
+        {"Москва", 55.7558, 37.6173, 13.0},
+        {"Санкт-Петербург", 59.9343, 30.3351, 5.6},
+        {"Новосибирск", 55.0084, 82.9357, 1.6},
+        {"Екатеринбург", 56.8389, 60.6057, 1.5},
+        {"Казань", 55.7887, 49.1221, 1.3},
+        {"Нижний Новгород", 56.2965, 43.9361, 1.2},
+        {"Краснодар", 45.0355, 38.9753, 1.1},
+        {"Самара", 53.1959, 50.1002, 1.1},
+        {"Ростов-на-Дону", 47.2357, 39.7015, 1.1},
+        {"Владивосток", 43.1155, 131.8855, 0.6},
+    };
+    private static final String[] INTERESTS = {
+        "music", "travel", "movies", "books", "sport", "fitness", "yoga", "running", "cycling", "hiking",
+        "cooking", "coffee", "wine", "photography", "art", "theatre", "dancing", "gaming", "tech", "science",
+        "pets", "dogs", "cats", "fashion", "languages", "history", "cars", "football", "skiing", "volunteering",
+    };
+    private static final String[] WORDS = {
+        "привет", "как", "дела", "отлично", "давай", "встретимся", "сегодня", "завтра", "вечером", "кофе",
+        "кино", "погуляем", "парке", "интересно", "согласен", "спасибо", "конечно", "может", "выходные", "где",
+    };
+
+    private final Options options;
+    private final int users;
+    private final long seed;
+    private final long now;
+    private final long historySeconds;
+    private final long[] idMsb;
+    private final long[] idLsb;
+    private final double chatActiveRatio;
+    private final double messagesPerChat;
+
+    private DatasetGenerator(final Options options) {
+        this.options = options;
+        this.users = options.getInt("users", 100_000);
+        this.seed = options.getLong("seed", 42L);
+        this.now = Instant.parse(options.get("now", "2025-01-01T00:00:00Z")).getEpochSecond();
+        this.historySeconds = (long) options.getInt("history-days", 365) * SECONDS_PER_DAY;
+        this.idMsb = new long[users];
+        this.idLsb = new long[users];
+        this.chatActiveRatio = options.getDouble("chat-active-ratio", 0.4);
+        this.messagesPerChat = options.getDouble("messages-per-chat", 25);
+    }
+
+    public static void main(final String[] args) throws SQLException {
+        Options options = Options.parse(args);
+        try (Connection connection = DriverManager.getConnection(
+                options.get("jdbc-url", "jdbc:postgresql://localhost:5432/postgres"),
+                options.get("db-user", "postgres"),
+                options.get("db-password", "postgres"))) {
+            new DatasetGenerator(options).generate(connection);
+        }
+    }
+
+    private void generate(final Connection connection) throws SQLException {
+        long started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            if (options.getBoolean("truncate", false)) {
+                statement.execute("TRUNCATE users CASCADE");
+            }
+            if (options.getBoolean("skip-checks", false)) {
+                statement.execute("SET session_replication_role = replica");
+            }
+        }
+        generateIds();
+        report("users", loadUsers(connection), started);
+        report("profiles", loadProfiles(connection), started);
+        report("photos", loadPhotos(connection), started);
+        report("likes", loadLikes(connection), started);
+        report("matches", loadMatches(connection, false), started);
+        report("messages", loadMatches(connection, true), started);
+        try (Statement statement = connection.createStatement()) {
+            if (options.getBoolean("skip-checks", false)) {
+                // Триггеры были отключены, маски интересов заполняются одним проходом
+                statement.execute("UPDATE profiles SET interest_bits = interest_bits(interests)");
+            }
+            statement.execute("SET session_replication_role = DEFAULT");
+            statement.execute("ANALYZE users, profiles, photos, likes, matches, messages");
+        }
+        report("analyze", 0, started);
+    }
+
+    private void generateIds() {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < users; i++) {
+            // Случайный UUID версии 4
+            idMsb[i] = random.nextLong() & ~0xF000L | 0x4000L;
+            idLsb[i] = random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        }
+    }
+
+    private long loadUsers(final Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        String passwordHash = new BCryptPasswordEncoder().encode(options.get("password", "password"));
+        try (CopyWriter copy = new CopyWriter(connection, "users",
+                "id, email, username, password_hash, role, created_at")) {
+            for (int i = 0; i < users; i++) {
+                StringBuilder row = copy.row();
+                value(row, userId(i));
+                value(row, "user" + i + "@malina.test");
+                value(row, "user" + i);
+                value(row, passwordHash);
+                value(row, "user");
+                value(row, timestamp(now - random.nextLong(historySeconds)));
+                copy.end();
+                progress("users", i);
+            }
+            return copy.finish();
+        }
+    }
+
+    private long loadProfiles(final Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        int clusters = Math.min(options.getInt("geo-clusters", CITIES.length), CITIES.length);
+        double spreadKm = options.getDouble("geo-spread-km", 15);
+        double uniform = options.getDouble("geo-uniform", 0.05);
+        double[] cumulativeWeight = new double[clusters];
+        for (int c = 0; c < clusters; c++) {
+            cumulativeWeight[c] = (c == 0 ? 0 : cumulativeWeight[c - 1]) + (double) CITIES[c][3];
+        }
+        try (CopyWriter copy = new CopyWriter(connection, "profiles",
+                "id, user_id, display_name, age, gender, bio, interests, location")) {
+            for (int i = 0; i < users; i++) {
+                StringBuilder row = copy.row();
+                value(row, profileId(i));
+                value(row, userId(i));
+                value(row, "User " + i);
+                value(row, Math.min(MAX_AGE, MIN_AGE + (int) Math.abs(random.nextGaussian() * 10)));
+                value(row, random.nextBoolean() ? "male" : "female");
+                value(row, random.nextInt(4) == 0 ? null : words(random, 3 + random.nextInt(15)));
+                value(row, interests(random));
+                value(row, location(random, cumulativeWeight, spreadKm, uniform));
+                copy.end();
+                progress("profiles", i);
+            }
+            return copy.finish();
+        }
+    }
+
+    private long loadPhotos(final Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ PHOTO_SEED_SALT);
+        double mean = options.getDouble("photos-per-profile", 3);
+        try (CopyWriter copy = new CopyWriter(connection, "photos",
+                "profile_id, object_key, is_primary, uploaded_at")) {
+            for (int i = 0; i < users; i++) {
+                int count = geometric(random, mean, 10);
+                for (int p = 0; p < count; p++) {
+                    StringBuilder row = copy.row();
+                    value(row, profileId(i));
+                    value(row, "photos/" + profileId(i) + "/" + p + ".jpg");
+                    value(row, p == 0);
+                    value(row, timestamp(now - random.nextLong(historySeconds)));
+                    copy.end();
+                }
+                progress("photos", i);
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Оценки: количество у каждого пользователя распределено геометрически, адресаты выбираются
+     * по закону Ципфа, так что небольшая доля популярных профилей получает большую часть лайков.
+     * Популярность не связана с порядком идентификаторов благодаря случайной перестановке рангов.
+     */
+    private long loadLikes(final Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ LIKE_SEED_SALT);
+        double mean = options.getDouble("likes-per-user", 100);
+        double positiveRatio = options.getDouble("positive-ratio", 0.6);
+        ZipfSampler popularity = new ZipfSampler(users, options.getDouble("like-skew", 1.0));
+        int[] rankToUser = shuffledIndexes(random);
+        int[] targets = new int[0];
+        try (CopyWriter copy = new CopyWriter(connection, "likes", "from_user, to_user, positive, created_at")) {
+            for (int i = 0; i < users; i++) {
+                int count = geometric(random, mean, users - 1);
+                if (targets.length < count) {
+                    targets = new int[Math.max(count, targets.length * 2)];
+                }
+                for (int k = 0; k < count; k++) {
+                    targets[k] = rankToUser[popularity.sample(random)];
+                }
+                Arrays.sort(targets, 0, count);
+                String fromUser = userId(i);
+                for (int k = 0; k < count; k++) {
+                    int target = targets[k];
+                    if (target == i || k > 0 && target == targets[k - 1]) {
+                        continue;
+                    }
+                    StringBuilder row = copy.row();
+                    value(row, fromUser);
+                    value(row, userId(target));
+                    value(row, random.nextDouble() < positiveRatio);
+                    value(row, timestamp(now - random.nextLong(historySeconds)));
+                    copy.end();
+                }
+                progress("likes", i);
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Мэтчи и сообщения. Сообщения ссылаются на мэтчи, поэтому загружаются вторым проходом,
+     * в котором последовательность мэтчей воспроизводится с тем же seed.
+     * Пара (i, j) создаётся только пользователем с меньшим индексом, что исключает дубликаты.
+     */
+    private long loadMatches(final Connection connection, final boolean messages) throws SQLException {
+        SplittableRandom matchRandom = new SplittableRandom(seed ^ MATCH_SEED_SALT);
+        SplittableRandom messageRandom = new SplittableRandom(seed ^ MESSAGE_SEED_SALT);
+        double mean = options.getDouble("matches-per-user", 5);
+        int[] partners = new int[0];
+        try (CopyWriter copy = messages
+                ? new CopyWriter(connection, "messages", "match_id, sender_id, body, sent_at")
+                : new CopyWriter(connection, "matches", "id, user_a, user_b, created_at")) {
+            for (int i = 0; i < users; i++) {
+                int count = geometric(matchRandom, mean, users - 1);
+                if (partners.length < count) {
+                    partners = new int[Math.max(count, partners.length * 2)];
+                }
+                for (int k = 0; k < count; k++) {
+                    partners[k] = matchRandom.nextInt(users);
+                }
+                Arrays.sort(partners, 0, count);
+                for (int k = 0; k < count; k++) {
+                    int j = partners[k];
+                    String matchId = new UUID(matchRandom.nextLong() & ~0xF000L | 0x4000L,
+                            matchRandom.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L).toString();
+                    long createdAt = now - matchRandom.nextLong(historySeconds);
+                    if (j <= i || k > 0 && j == partners[k - 1]) {
+                        continue;
+                    }
+                    if (messages) {
+                        writeMessages(copy, messageRandom, matchId, i, j, createdAt);
+                    } else {
+                        boolean ordered = compareIds(i, j) < 0;
+                        StringBuilder row = copy.row();
+                        value(row, matchId);
+                        value(row, userId(ordered ? i : j));
+                        value(row, userId(ordered ? j : i));
+                        value(row, timestamp(createdAt));
+                        copy.end();
+                    }
+                }
+                progress(messages ? "messages" : "matches", i);
+            }
+            return copy.finish();
+        }
+    }
+
+    private void writeMessages(
+            final CopyWriter copy,
+            final SplittableRandom random,
+            final String matchId,
+            final int userA,
+            final int userB,
+            final long createdAt
+    ) throws SQLException {
+        if (random.nextDouble() >= chatActiveRatio) {
+            return;
+        }
+        int count = geometric(random, messagesPerChat, 10_000);
+        long window = Math.max(1, now - createdAt);
+        long sentAt = createdAt;
+        for (int m = 0; m < count; m++) {
+            sentAt = Math.min(now, sentAt + 1 + random.nextLong(Math.max(1, 2 * window / count)));
+            StringBuilder row = copy.row();
+            value(row, matchId);
+            value(row, userId(random.nextBoolean() ? userA : userB));
+            value(row, words(random, 1 + random.nextInt(12)));
+            value(row, timestamp(sentAt));
+            copy.end();
+        }
+    }
+
+    private int[] shuffledIndexes(final SplittableRandom random) {
+        int[] indexes = new int[users];
+        for (int i = 0; i < users; i++) {
+            indexes[i] = i;
+        }
+        for (int i = users - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private String location(
+            final SplittableRandom random,
+            final double[] cumulativeWeight,
+            final double spreadKm,
+            final double uniform
+    ) {
+        double lat;
+        double lon;
+        if (random.nextDouble() < uniform) {
+            lat = 43 + random.nextDouble() * 25;
+            lon = 28 + random.nextDouble() * 110;
+        } else {
+            double pick = random.nextDouble() * cumulativeWeight[cumulativeWeight.length - 1];
+            int city = 0;
+            while (cumulativeWeight[city] < pick) {
+                city++;
+            }
+            double centerLat = (double) CITIES[city][1];
+            double centerLon = (double) CITIES[city][2];
+            lat = centerLat + random.nextGaussian() * spreadKm / KM_PER_DEGREE;
+            lon = centerLon + random.nextGaussian() * spreadKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(centerLat)));
+        }
+        return "SRID=4326;POINT(" + lon + " " + lat + ")";
+    }
+
+    private static String interests(final SplittableRandom random) {
+        int count = 1 + random.nextInt(7);
+        StringBuilder array = new StringBuilder("{");
+        int start = random.nextInt(INTERESTS.length);
+        for (int k = 0; k < count; k++) {
+            // Шаг, взаимно простой с длиной списка, не даёт повторов
+            array.append(k == 0 ? "" : ",").append(INTERESTS[(start + k * 7) % INTERESTS.length]);
+        }
+        return array.append('}').toString();
+    }
+
+    private static String words(final SplittableRandom random, final int count) {
+        StringBuilder text = new StringBuilder();
+        for (int k = 0; k < count; k++) {
+            text.append(k == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Геометрически распределённое количество с заданным средним
+     */
+    private static int geometric(final SplittableRandom random, final double mean, final int max) {
+        if (mean <= 0) {
+            return 0;
+        }
+        return (int) Math.min(max, Math.floor(-mean * Math.log(1 - random.nextDouble())));
+    }
+
+    private int compareIds(final int i, final int j) {
+        int byMsb = Long.compareUnsigned(idMsb[i], idMsb[j]);
+        return byMsb != 0 ? byMsb : Long.compareUnsigned(idLsb[i], idLsb[j]);
+    }
+
+    private String userId(final int i) {
+        return new UUID(idMsb[i], idLsb[i]).toString();
+    }
+
+    private String profileId(final int i) {
+        return new UUID(idMsb[i] ^ PROFILE_ID_SALT, idLsb[i]).toString();
+    }
+
+    private static String timestamp(final long epochSecond) {
+        return Instant.ofEpochSecond(epochSecond).toString();
+    }
+
+    private void progress(final String table, final int i) {
+        if ((i + 1) % PROGRESS_STEP == 0) {
+            System.out.printf("%s: обработано пользователей %,d из %,d%n", table, i + 1, users);
+        }
+    }
+
+    private static void report(final String table, final long rows, final long started) {
+        System.out.printf("%-9s %,15d строк, %,8.1f с от начала%n", table, rows, (System.nanoTime() - started) / 1e9);
+    }
+}
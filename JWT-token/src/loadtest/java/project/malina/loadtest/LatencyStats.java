@@ -0,0 +1,68 @@
+package project.malina.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Задержки и коды ответов одного шага сценария
+ */
+final class LatencyStats {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private final String step;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    LatencyStats(final String step) {
+        this.step = step;
+    }
+
+    /**
+     * Учёт запроса
+     *
+     * @param status HTTP-код ответа или 0, если запрос не выполнен
+     */
+    synchronized void record(final int status, final long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        statuses.merge(status, 1L, Long::sum);
+        if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    synchronized Map<String, Object> summary(final double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("step", step);
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughput", count / seconds);
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + formatPercentile(percentile), millis(sorted, percentile));
+        }
+        summary.put("max", count == 0 ? 0 : sorted[count - 1] / 1e6);
+        Map<String, Long> codes = new LinkedHashMap<>();
+        statuses.forEach((status, requests) -> codes.put(String.valueOf(status), requests));
+        summary.put("statuses", codes);
+        return summary;
+    }
+
+    private static double millis(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static String formatPercentile(final double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+}
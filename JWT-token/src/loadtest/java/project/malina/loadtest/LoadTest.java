@@ -0,0 +1,247 @@
+package project.malina.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Сценарий нагрузки на локальный экземпляр: регистрация → вход → лента → свайп → чат.
+ * <p>
+ * Каждый виртуальный пользователь выполняется в отдельном виртуальном потоке, регистрируется,
+ * входит и повторяет цикл «лента → свайп → сообщение» заданное число раз. Кандидат для свайпа берётся
+ * из ответа ленты (поле userId или id), сообщение отправляется, если ответ свайпа содержит matchId.
+ * По каждому шагу выводятся пропускная способность, перцентили задержек и распределение кодов ответа.
+ * Если шаг получает 404, не получив до этого ни одного успешного ответа, путь шага считается
+ * несуществующим: прогон останавливается с ошибкой, чтобы задержки ответов 404 не попали в отчёт.
+ * <p>
+ * Запуск: {@code ./gradlew loadTest -Pargs="--virtual-users=200 --iterations=50"}.
+ * Все запросы идут с одного адреса, поэтому приложение нужно запускать с rate-limit.enabled=false.
+ *
+ * <ul>
+ *     <li>--base-url: адрес приложения;</li>
+ *     <li>--virtual-users, --iterations: число виртуальных пользователей и циклов каждого;</li>
+ *     <li>--feed-path, --swipe-path, --chat-path: пути шагов, {matchId} подставляется из ответа свайпа;</li>
+ *     <li>--positive-ratio: доля положительных свайпов;</li>
+ *     <li>--think-time-ms: пауза между шагами;</li>
+ *     <li>--seed: зерно для решений сценария;</li>
+ *     <li>--run-id: префикс имён пользователей, по умолчанию уникален для каждого запуска;</li>
+ *     <li>--report: файл для JSON-отчёта.</li>
+ * </ul>
+ */
+public final class LoadTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String SIGN_UP = "sign-up";
+    private static final String SIGN_IN = "sign-in";
+    private static final String FEED = "feed";
+    private static final String SWIPE = "swipe";
+    private static final String CHAT = "chat";
+    private static final int HTTP_NOT_FOUND = 404;
+
+    private final Options options;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final String runId;
+    private final Map<String, LatencyStats> stats = new LinkedHashMap<>();
+    private final Set<String> reachedSteps = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<String> missingPath = new AtomicReference<>();
+
+    private LoadTest(final Options options) {
+        this.options = options;
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.timeout = Duration.ofSeconds(options.getInt("timeout-seconds", 30));
+        this.runId = options.get("run-id", Long.toString(System.currentTimeMillis(), Character.MAX_RADIX));
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (String step : List.of(SIGN_UP, SIGN_IN, FEED, SWIPE, CHAT)) {
+            stats.put(step, new LatencyStats(step));
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new LoadTest(Options.parse(args)).run();
+    }
+
+    private void run() throws InterruptedException, IOException {
+        int virtualUsers = options.getInt("virtual-users", 50);
+        long seed = options.getLong("seed", 42L);
+        CountDownLatch start = new CountDownLatch(1);
+        long started;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < virtualUsers; i++) {
+                int user = i;
+                executor.submit(() -> {
+                    start.await();
+                    scenario(user, new SplittableRandom(seed + user));
+                    return null;
+                });
+            }
+            started = System.nanoTime();
+            start.countDown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        if (missingPath.get() != null) {
+            throw new IllegalStateException("Прогон остановлен: " + missingPath.get()
+                    + " отвечает 404, путь задаётся параметрами --feed-path, --swipe-path, --chat-path");
+        }
+        report(virtualUsers, seconds);
+    }
+
+    private void scenario(final int user, final SplittableRandom random) throws InterruptedException {
+        String username = "lt_" + runId + "_" + user;
+        String password = "password_" + user;
+        Map<String, Object> credentials = new LinkedHashMap<>();
+        credentials.put("username", username);
+        credentials.put("email", username + "@loadtest.malina");
+        credentials.put("password", password);
+        if (call(SIGN_UP, "POST", "/auth/sign-up", null, credentials) == null) {
+            return;
+        }
+        credentials.remove("email");
+        JsonNode signIn = call(SIGN_IN, "POST", "/auth/sign-in", null, credentials);
+        if (signIn == null || !signIn.hasNonNull("token")) {
+            return;
+        }
+        String token = signIn.get("token").asText();
+        double positiveRatio = options.getDouble("positive-ratio", 0.5);
+        for (int i = 0; i < options.getInt("iterations", 20) && missingPath.get() == null; i++) {
+            JsonNode feed = call(FEED, "GET", options.get("feed-path", "/feed"), token, null);
+            pause();
+            String candidate = candidate(feed, random);
+            if (candidate == null) {
+                continue;
+            }
+            Map<String, Object> swipe = new LinkedHashMap<>();
+            swipe.put("targetUserId", candidate);
+            swipe.put("positive", random.nextDouble() < positiveRatio);
+            JsonNode swiped = call(SWIPE, "POST", options.get("swipe-path", "/swipes"), token, swipe);
+            pause();
+            if (swiped == null || !swiped.hasNonNull("matchId")) {
+                continue;
+            }
+            String chatPath = options.get("chat-path", "/matches/{matchId}/messages")
+                    .replace("{matchId}", swiped.get("matchId").asText());
+            call(CHAT, "POST", chatPath, token, Map.of("content", "Привет! Сообщение " + i));
+            pause();
+        }
+    }
+
+    /**
+     * Выполнение запроса шага с замером задержки
+     *
+     * @return тело успешного ответа или null при ошибке; 404 до первого успешного ответа шага
+     * останавливает прогон и в статистику не попадает
+     */
+    private JsonNode call(
+            final String step,
+            final String method,
+            final String path,
+            final String token,
+            final Object body
+    ) {
+        long started = System.nanoTime();
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .header("Accept", "application/json");
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == HTTP_NOT_FOUND && !reachedSteps.contains(step)) {
+                missingPath.compareAndSet(null, method + " " + path);
+                return null;
+            }
+            stats.get(step).record(response.statusCode(), System.nanoTime() - started);
+            if (response.statusCode() / 100 != 2) {
+                return null;
+            }
+            reachedSteps.add(step);
+            return response.body().length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(response.body());
+        } catch (IOException ex) {
+            stats.get(step).record(0, System.nanoTime() - started);
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Случайный кандидат из ответа ленты: массив или страница с полем content
+     */
+    private static String candidate(final JsonNode feed, final SplittableRandom random) {
+        if (feed == null) {
+            return null;
+        }
+        JsonNode items = feed.isArray() ? feed : feed.path("content");
+        if (!items.isArray() || items.isEmpty()) {
+            return null;
+        }
+        JsonNode item = items.get(random.nextInt(items.size()));
+        JsonNode id = item.hasNonNull("userId") ? item.get("userId") : item.get("id");
+        return id == null ? null : id.asText();
+    }
+
+    private void pause() throws InterruptedException {
+        long thinkTime = options.getLong("think-time-ms", 0);
+        if (thinkTime > 0) {
+            Thread.sleep(thinkTime);
+        }
+    }
+
+    private void report(final int virtualUsers, final double seconds) throws IOException {
+        List<Map<String, Object>> steps = new ArrayList<>();
+        System.out.printf("Виртуальных пользователей: %d, длительность: %.1f с%n", virtualUsers, seconds);
+        System.out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s  %s%n",
+                "шаг", "запросов", "ошибок", "rps", "p50, мс", "p90, мс", "p99, мс", "p99.9, мс", "max, мс", "коды");
+        for (LatencyStats step : stats.values()) {
+            Map<String, Object> summary = step.summary(seconds);
+            steps.add(summary);
+            System.out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    summary.get("step"), summary.get("requests"), summary.get("errors"), summary.get("throughput"),
+                    summary.get("p50"), summary.get("p90"), summary.get("p99"), summary.get("p99.9"),
+                    summary.get("max"), summary.get("statuses"));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("baseUrl", baseUrl);
+        result.put("virtualUsers", virtualUsers);
+        result.put("iterations", options.getInt("iterations", 20));
+        result.put("durationSeconds", seconds);
+        result.put("steps", steps);
+        Path file = Path.of(options.get("report", "build/reports/loadtest/results.json"));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), result);
+        System.out.println("Отчёт сохранён в " + file.toAbsolutePath());
+    }
+}
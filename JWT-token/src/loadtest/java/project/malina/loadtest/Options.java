@@ -0,0 +1,46 @@
+package project.malina.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры командной строки в виде --key=value
+ */
+final class Options {
+    private final Map<String, String> values = new HashMap<>();
+
+    private Options() {
+    }
+
+    static Options parse(final String[] args) {
+        Options options = new Options();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --key=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    String get(final String key, final String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(final String key, final int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    long getLong(final String key, final long defaultValue) {
+        return values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue;
+    }
+
+    double getDouble(final String key, final double defaultValue) {
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+
+    boolean getBoolean(final String key, final boolean defaultValue) {
+        return values.containsKey(key) ? Boolean.parseBoolean(values.get(key)) : defaultValue;
+    }
+}
@@ -0,0 +1,30 @@
+package project.malina.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Выбор ранга 0..n-1 с вероятностью, убывающей как 1 / (rank + 1)^s.
+ * <p>
+ * Используется обратная функция распределения непрерывного приближения, поэтому выбор
+ * выполняется за O(1) без таблицы на n элементов. При s = 0 распределение равномерное.
+ */
+final class ZipfSampler {
+    private static final double EPSILON = 1e-9;
+    private final int n;
+    private final double exponent;
+    private final double span;
+
+    ZipfSampler(final int n, final double exponent) {
+        this.n = n;
+        this.exponent = exponent;
+        this.span = Math.abs(exponent - 1) < EPSILON ? Math.log(n + 1.0) : Math.pow(n + 1.0, 1 - exponent) - 1;
+    }
+
+    int sample(final SplittableRandom random) {
+        double u = random.nextDouble();
+        double x = Math.abs(exponent - 1) < EPSILON
+                ? Math.exp(u * span)
+                : Math.pow(1 + u * span, 1 / (1 - exponent));
+        return Math.min(n - 1, (int) x - 1);
+    }
+}
@@ -0,0 +1,55 @@
+package project.malina.Controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.malina.Services.UserService;
+import project.malina.account.AccountDeletionService;
+import project.malina.account.AccountExportService;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/account")
+@RequiredArgsConstructor
+@Tag(name = "Аккаунт")
+public class AccountController {
+    private static final Logger LOG = LogManager.getLogger(AccountController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private final UserService userService;
+    private final AccountDeletionService deletionService;
+    private final AccountExportService exportService;
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Удаление аккаунта: аккаунт отключается сразу, данные удаляются в фоне")
+    public void delete() {
+        var user = userService.getCurrentUser();
+        LOG.info("Запрос удаления аккаунта '{}'", user.getUsername());
+        deletionService.requestDeletion(user);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Выгрузка всех данных пользователя в формате NDJSON")
+    public ResponseEntity<StreamingResponseBody> export() {
+        // Пользователь определяется до ответа: тело пишется в другом потоке, без контекста безопасности
+        UUID userId = userService.getCurrentUser().getId();
+        LOG.info("Запрос выгрузки данных пользователя {}", userId);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"malina-" + userId + ".ndjson\"")
+                .body(out -> exportService.export(userId, out));
+    }
+}
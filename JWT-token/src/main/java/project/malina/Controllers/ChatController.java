@@ -0,0 +1,38 @@
+package project.malina.Controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import project.malina.Services.UserService;
+import project.malina.chat.ChatMessage;
+import project.malina.chat.ChatService;
+import project.malina.chat.MessageRequest;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/matches")
+@RequiredArgsConstructor
+@Tag(name = "Чат")
+public class ChatController {
+    private final UserService userService;
+    private final ChatService chatService;
+
+    @PostMapping("/{matchId}/messages")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Отправка сообщения в пару")
+    public ChatMessage send(@PathVariable final UUID matchId, @RequestBody @Valid final MessageRequest request) {
+        var senderId = userService.getCurrentUser().getId();
+        return chatService.send(matchId, senderId, request.content())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Пара не найдена"));
+    }
+}
@@ -0,0 +1,36 @@
+package project.malina.Controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import project.malina.Services.UserService;
+import project.malina.matching.CandidateRankingService;
+import project.malina.matching.ScoredCandidate;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/feed")
+@RequiredArgsConstructor
+@Tag(name = "Лента")
+public class FeedController {
+    private final UserService userService;
+    private final CandidateRankingService rankingService;
+
+    @GetMapping
+    @Operation(summary = "Лента кандидатов: ближайшие активные пользователи по убыванию числа общих интересов")
+    public List<ScoredCandidate> feed(
+            @RequestParam(defaultValue = "20")
+            @Min(value = 1, message = "Размер выдачи должен быть положительным")
+            @Max(value = 100, message = "Размер выдачи должен быть не больше 100")
+            final int limit
+    ) {
+        return rankingService.feed(userService.getCurrentUser().getId(), limit);
+    }
+}
@@ -0,0 +1,118 @@
+package project.malina.Controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import project.malina.Services.UserService;
+import project.malina.profile.HttpCacheProperties;
+import project.malina.profile.ProfileCard;
+import project.malina.profile.ProfileCardService;
+import project.malina.profile.ProfilePhoto;
+import project.malina.profile.ProfileService;
+import project.malina.profile.ProfileUpdate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Карточки профилей и фотографии с поддержкой условных запросов.
+ * <p>
+ * Сначала читается только версия ресурса: если она совпадает с If-None-Match (для фотографии —
+ * или не новее If-Modified-Since), клиент получает 304 без загрузки данных. ETag слабый, так как
+ * ответ может быть сжат.
+ * <p>
+ * Карточка отдаётся только с ETag, без Last-Modified: её версия (profiles.updated_at) — время
+ * начала изменившей транзакции, и транзакция, зафиксированная позже, может записать более раннее
+ * время, чем уже полученное клиентом. Сравнение «не новее If-Modified-Since» дало бы тогда 304
+ * на изменённую карточку, а ETag сравнивается на равенство.
+ */
+@RestController
+@RequestMapping("/profiles")
+@RequiredArgsConstructor
+@Tag(name = "Профили")
+public class ProfileController {
+    private static final Logger LOG = LogManager.getLogger(ProfileController.class);
+    private final ProfileCardService service;
+    private final ProfileService profileService;
+    private final UserService userService;
+    private final HttpCacheProperties cacheProperties;
+
+    @PutMapping("/me")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Изменение профиля текущего пользователя")
+    public void update(@RequestBody @Valid final ProfileUpdate update) {
+        profileService.update(userService.getCurrentUser().getId(), update);
+    }
+
+    @GetMapping("/{userId}")
+    @Operation(summary = "Карточка профиля")
+    public ResponseEntity<ProfileCard> card(@PathVariable final UUID userId, final WebRequest request) {
+        CacheControl cacheControl = CacheControl.maxAge(cacheProperties.getProfileMaxAge())
+                .cachePrivate()
+                .mustRevalidate();
+        Instant version = service.findCardVersion(userId).orElseThrow(ProfileController::profileNotFound);
+        if (request.checkNotModified(etag(version))) {
+            LOG.trace("Карточка профиля {} не изменилась", userId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        // Версия берётся из загруженной карточки: профиль мог измениться после проверки
+        ProfileCard card = service.findCard(userId).orElseThrow(ProfileController::profileNotFound);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag(card.updatedAt()))
+                .body(card);
+    }
+
+    @GetMapping("/{userId}/photos/{photoId}")
+    @Operation(summary = "Фотография профиля")
+    public ResponseEntity<ProfilePhoto> photo(
+            @PathVariable final UUID userId,
+            @PathVariable final UUID photoId,
+            final WebRequest request
+    ) {
+        CacheControl cacheControl = CacheControl.maxAge(cacheProperties.getPhotoMaxAge())
+                .cachePrivate()
+                .immutable();
+        Instant version = service.findPhotoVersion(userId, photoId).orElseThrow(ProfileController::photoNotFound);
+        if (request.checkNotModified(etag(version), version.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        ProfilePhoto photo = service.findPhoto(userId, photoId).orElseThrow(ProfileController::photoNotFound);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag(photo.uploadedAt()))
+                .lastModified(photo.uploadedAt())
+                .body(photo);
+    }
+
+    /**
+     * Слабый ETag из версии с точностью до микросекунд, как хранится timestamptz
+     */
+    static String etag(final Instant version) {
+        return "W/\"" + Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, version)) + "\"";
+    }
+
+    private static ResponseStatusException profileNotFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Профиль не найден");
+    }
+
+    private static ResponseStatusException photoNotFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Фотография не найдена");
+    }
+}
@@ -0,0 +1,36 @@
+package project.malina.Controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import project.malina.Services.UserService;
+import project.malina.matching.SwipeRequest;
+import project.malina.matching.SwipeResult;
+import project.malina.matching.SwipeService;
+
+@RestController
+@RequestMapping("/swipes")
+@RequiredArgsConstructor
+@Tag(name = "Лента")
+public class SwipeController {
+    private final UserService userService;
+    private final SwipeService swipeService;
+
+    @PostMapping
+    @Operation(summary = "Оценка кандидата; при взаимной симпатии возвращается созданная пара")
+    public SwipeResult swipe(@RequestBody @Valid final SwipeRequest request) {
+        var userId = userService.getCurrentUser().getId();
+        if (userId.equals(request.targetUserId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Нельзя оценить собственный профиль");
+        }
+        return swipeService.swipe(userId, request.targetUserId(), request.positive())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Пользователь не найден"));
+    }
+}
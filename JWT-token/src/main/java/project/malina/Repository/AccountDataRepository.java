@@ -0,0 +1,145 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Данные аккаунта: очередь удаления, порционная очистка и выгрузка.
+ * <p>
+ * Шаги очистки повторяют каскады ON DELETE CASCADE от users, но удаляют не более limit строк
+ * за транзакцию, начиная с самых глубоких таблиц, чтобы итоговое удаление пользователя
+ * не затрагивало больших объёмов. Жалобы, поданные пользователем, не удаляются: они нужны
+ * модерации, поэтому у них только обезличивается автор.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class AccountDataRepository {
+    private static final int FETCH_SIZE = 1_000;
+    private static final List<String> PURGE_STEPS = List.of(
+            "DELETE FROM messages WHERE id IN (SELECT m.id FROM messages m "
+                    + "JOIN matches x ON x.id = m.match_id WHERE x.user_a = ? LIMIT ?)",
+            "DELETE FROM messages WHERE id IN (SELECT m.id FROM messages m "
+                    + "JOIN matches x ON x.id = m.match_id WHERE x.user_b = ? LIMIT ?)",
+            "DELETE FROM matches WHERE id IN (SELECT id FROM matches WHERE user_a = ? LIMIT ?)",
+            "DELETE FROM matches WHERE id IN (SELECT id FROM matches WHERE user_b = ? LIMIT ?)",
+            "DELETE FROM likes WHERE id IN (SELECT id FROM likes WHERE from_user = ? LIMIT ?)",
+            "DELETE FROM likes WHERE id IN (SELECT id FROM likes WHERE to_user = ? LIMIT ?)",
+            "UPDATE reports SET reporter_user_id = NULL WHERE id IN ("
+                    + "SELECT id FROM reports WHERE reporter_user_id = ? LIMIT ?)",
+            "DELETE FROM reports WHERE id IN (SELECT id FROM reports WHERE reported_user_id = ? LIMIT ?)",
+            "DELETE FROM verifications WHERE id IN (SELECT id FROM verifications WHERE user_id = ? LIMIT ?)",
+            "DELETE FROM bans WHERE id IN (SELECT id FROM bans WHERE user_id = ? LIMIT ?)",
+            "DELETE FROM photos WHERE id IN (SELECT p.id FROM photos p "
+                    + "JOIN profiles pr ON pr.id = p.profile_id WHERE pr.user_id = ? LIMIT ?)",
+            "DELETE FROM profiles WHERE id IN (SELECT id FROM profiles WHERE user_id = ? LIMIT ?)",
+            "DELETE FROM seen_filters WHERE user_id IN (SELECT user_id FROM seen_filters WHERE user_id = ? LIMIT ?)"
+    );
+
+    /**
+     * Запросы выгрузки: тип записи и выборка по идентификатору пользователя
+     */
+    private static final List<String[]> EXPORT_QUERIES = List.of(
+            new String[] {"user", "SELECT id, username, email, phone, role, created_at, updated_at "
+                    + "FROM users WHERE id = ?"},
+            new String[] {"profile", "SELECT id, display_name, age, bio, gender, interests, "
+                    + "ST_AsText(location) AS location, updated_at FROM profiles WHERE user_id = ?"},
+            new String[] {"photo", "SELECT p.id, p.object_key, p.is_primary, p.uploaded_at FROM photos p "
+                    + "JOIN profiles pr ON pr.id = p.profile_id WHERE pr.user_id = ?"},
+            new String[] {"like", "SELECT to_user, positive, created_at FROM likes WHERE from_user = ?"},
+            new String[] {"match", "SELECT id, user_b AS partner_id, created_at FROM matches WHERE user_a = ?"},
+            new String[] {"match", "SELECT id, user_a AS partner_id, created_at FROM matches WHERE user_b = ?"},
+            new String[] {"message", "SELECT m.id, m.match_id, m.sender_id, m.body, m.sent_at FROM messages m "
+                    + "JOIN matches x ON x.id = m.match_id WHERE x.user_a = ?"},
+            new String[] {"message", "SELECT m.id, m.match_id, m.sender_id, m.body, m.sent_at FROM messages m "
+                    + "JOIN matches x ON x.id = m.match_id WHERE x.user_b = ?"},
+            new String[] {"report", "SELECT id, reported_user_id, reason, details, status, created_at "
+                    + "FROM reports WHERE reporter_user_id = ?"},
+            new String[] {"verification", "SELECT id, method, status, requested_at, verified_at, metadata "
+                    + "FROM verifications WHERE user_id = ?"},
+            new String[] {"ban", "SELECT id, reason, starts_at, ends_at FROM bans WHERE user_id = ?"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Постановка аккаунта в очередь удаления; повторный запрос не создаёт новую задачу
+     */
+    public void enqueueDeletion(final UUID userId) {
+        jdbcTemplate.update("INSERT INTO account_deletions (user_id) VALUES (?) ON CONFLICT (user_id) DO NOTHING",
+                userId);
+    }
+
+    /**
+     * Захват задачи удаления: незавершённой и не обрабатываемой другим узлом дольше lease
+     */
+    public Optional<UUID> claimDeletion(final Duration lease) {
+        return jdbcTemplate.query("UPDATE account_deletions SET started_at = NOW() WHERE user_id = ("
+                                + "SELECT user_id FROM account_deletions WHERE completed_at IS NULL "
+                                + "AND (started_at IS NULL OR started_at < NOW() - ? * INTERVAL '1 second') "
+                                + "ORDER BY requested_at LIMIT 1 FOR UPDATE SKIP LOCKED) RETURNING user_id",
+                        (rs, row) -> rs.getObject(1, UUID.class), lease.toSeconds())
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Учёт удалённых строк и продление аренды задачи
+     */
+    public void recordProgress(final UUID userId, final long deletedRows) {
+        jdbcTemplate.update("UPDATE account_deletions SET started_at = NOW(), deleted_rows = deleted_rows + ? "
+                + "WHERE user_id = ?", deletedRows, userId);
+    }
+
+    public void completeDeletion(final UUID userId) {
+        jdbcTemplate.update("UPDATE account_deletions SET completed_at = NOW() WHERE user_id = ?", userId);
+    }
+
+    public int purgeStepCount() {
+        return PURGE_STEPS.size();
+    }
+
+    /**
+     * Удаление (для жалоб пользователя — обезличивание) очередной порции зависимых строк
+     *
+     * @param step номер шага очистки
+     * @return количество обработанных строк; меньше limit, когда шаг завершён
+     */
+    public int purgeChunk(final int step, final UUID userId, final int limit) {
+        return jdbcTemplate.update(PURGE_STEPS.get(step), userId, limit);
+    }
+
+    /**
+     * Потоковый обход всех данных пользователя; строки читаются курсором порциями по FETCH_SIZE
+     *
+     * @param handler получает тип записи и текущую строку
+     */
+    @Transactional(readOnly = true)
+    public void forEachExportRow(final UUID userId, final ExportRowHandler handler) {
+        for (String[] query : EXPORT_QUERIES) {
+            String type = query[0];
+            RowCallbackHandler rowHandler = rs -> handler.handle(type, rs);
+            jdbcTemplate.query(con -> {
+                var statement = con.prepareStatement(query[1]);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, userId);
+                return statement;
+            }, rowHandler);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ExportRowHandler {
+        void handle(String type, ResultSet row) throws SQLException;
+    }
+}
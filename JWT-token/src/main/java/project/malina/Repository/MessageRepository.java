@@ -0,0 +1,36 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.malina.chat.ChatMessage;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Сообщения в парах
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class MessageRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Сохранение сообщения, если отправитель участвует в паре
+     *
+     * @return сохранённое сообщение или пусто, если пары нет или отправитель в ней не участвует
+     */
+    public Optional<ChatMessage> create(final UUID matchId, final UUID senderId, final String body) {
+        return jdbcTemplate.query("INSERT INTO messages (match_id, sender_id, body) "
+                                + "SELECT m.id, ?, ? FROM matches m WHERE m.id = ? AND ? IN (m.user_a, m.user_b) "
+                                + "RETURNING id, sent_at",
+                        (rs, row) -> new ChatMessage(rs.getObject(1, UUID.class), matchId, senderId, body,
+                                rs.getTimestamp(2).toInstant()),
+                        senderId, body, matchId, senderId)
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,108 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.malina.profile.ProfileCard;
+import project.malina.profile.ProfilePhoto;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Чтение карточек профилей и фотографий.
+ * <p>
+ * Версии читаются отдельными запросами по индексу без загрузки самих данных,
+ * чтобы условные запросы клиентов отвечались 304 как можно дешевле. Профили отключённых
+ * (удаляемых) аккаунтов не отдаются.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProfileCardRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Instant> findCardVersion(final UUID userId) {
+        return jdbcTemplate.query("SELECT pr.updated_at FROM profiles pr JOIN users u ON u.id = pr.user_id "
+                                + "WHERE pr.user_id = ? AND u.enabled",
+                        (rs, row) -> rs.getTimestamp(1).toInstant(), userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Карточка с фотографиями одним запросом: профиль и фотографии читаются из одного снимка,
+     * поэтому версия карточки (updated_at, который триггер сдвигает и при изменении фотографий)
+     * всегда соответствует списку фотографий
+     */
+    public Optional<ProfileCard> findCard(final UUID userId) {
+        return jdbcTemplate.query("SELECT pr.user_id, pr.display_name, pr.age, pr.bio, pr.gender, pr.interests, "
+                        + "pr.updated_at, p.id, p.object_key, p.is_primary, p.uploaded_at FROM profiles pr "
+                        + "JOIN users u ON u.id = pr.user_id "
+                        + "LEFT JOIN photos p ON p.profile_id = pr.id "
+                        + "WHERE pr.user_id = ? AND u.enabled "
+                        + "ORDER BY p.is_primary DESC, p.uploaded_at",
+                rs -> {
+                    if (!rs.next()) {
+                        return Optional.<ProfileCard>empty();
+                    }
+                    UUID id = rs.getObject(1, UUID.class);
+                    String displayName = rs.getString(2);
+                    Integer age = rs.getObject(3, Integer.class);
+                    String bio = rs.getString(4);
+                    String gender = rs.getString(5);
+                    List<String> interests = strings(rs.getArray(6));
+                    Instant updatedAt = rs.getTimestamp(7).toInstant();
+                    UUID primary = null;
+                    List<ProfilePhoto> photos = new ArrayList<>();
+                    // Без фотографий LEFT JOIN даёт одну строку с пустыми столбцами photos
+                    do {
+                        if (rs.getObject(8) != null) {
+                            ProfilePhoto photo = photo(rs, 8);
+                            if (rs.getBoolean(10)) {
+                                primary = photo.id();
+                            }
+                            photos.add(photo);
+                        }
+                    } while (rs.next());
+                    return Optional.of(new ProfileCard(id, displayName, age, bio, gender, interests, primary,
+                            List.copyOf(photos), updatedAt));
+                }, userId);
+    }
+
+    public Optional<Instant> findPhotoVersion(final UUID userId, final UUID photoId) {
+        return jdbcTemplate.query("SELECT p.uploaded_at FROM photos p JOIN profiles pr ON pr.id = p.profile_id "
+                                + "JOIN users u ON u.id = pr.user_id WHERE p.id = ? AND pr.user_id = ? AND u.enabled",
+                        (rs, row) -> rs.getTimestamp(1).toInstant(), photoId, userId)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<ProfilePhoto> findPhoto(final UUID userId, final UUID photoId) {
+        return jdbcTemplate.query("SELECT p.id, p.object_key, p.is_primary, p.uploaded_at FROM photos p "
+                                + "JOIN profiles pr ON pr.id = p.profile_id JOIN users u ON u.id = pr.user_id "
+                                + "WHERE p.id = ? AND pr.user_id = ? AND u.enabled",
+                        (rs, row) -> photo(rs, 1), photoId, userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Фотография из столбцов id, object_key, is_primary, uploaded_at начиная с column
+     */
+    private static ProfilePhoto photo(final ResultSet rs, final int column) throws SQLException {
+        return new ProfilePhoto(rs.getObject(column, UUID.class), rs.getString(column + 1),
+                rs.getTimestamp(column + 3).toInstant());
+    }
+
+    private static List<String> strings(final Array array) throws SQLException {
+        return array == null ? List.of() : List.of((String[]) array.getArray());
+    }
+}
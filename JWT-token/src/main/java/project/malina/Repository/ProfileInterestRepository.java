@@ -0,0 +1,83 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.malina.matching.CandidatePool;
+import project.malina.matching.InterestVector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Отбор кандидатов для ленты и чтение масок интересов профилей.
+ * <p>
+ * Маски (profiles.interest_bits) поддерживает триггер в базе, поэтому здесь они только читаются.
+ * В кандидаты попадают только профили включённых аккаунтов без действующей блокировки.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProfileInterestRepository {
+    private static final String ACTIVE_CANDIDATES = "FROM profiles p "
+            + "JOIN users u ON u.id = p.user_id "
+            + "WHERE p.user_id <> ? AND u.enabled AND NOT EXISTS (SELECT 1 FROM bans b "
+            + "WHERE b.user_id = p.user_id AND b.starts_at <= NOW() AND (b.ends_at IS NULL OR b.ends_at > NOW())) ";
+    /**
+     * Ближайшие к пользователю (KNN по profiles_location_gix); профили без местоположения — в конце
+     */
+    static final String NEARBY_CANDIDATES = "SELECT p.user_id " + ACTIVE_CANDIDATES
+            + "ORDER BY p.location <-> (SELECT location FROM profiles WHERE user_id = ?) LIMIT ? OFFSET ?";
+    /**
+     * Для пользователя без местоположения — недавно обновлённые профили
+     */
+    static final String RECENT_CANDIDATES = "SELECT p.user_id " + ACTIVE_CANDIDATES
+            + "ORDER BY p.updated_at DESC LIMIT ? OFFSET ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<InterestVector> findByUserId(final UUID userId) {
+        return jdbcTemplate.query("SELECT interest_bits FROM profiles WHERE user_id = ?",
+                        (rs, row) -> InterestVector.fromBytes(rs.getBytes(1)), userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Страница кандидатов для ленты пользователя: не больше limit, начиная с offset
+     */
+    public List<UUID> findCandidateIds(final UUID userId, final int offset, final int limit) {
+        boolean located = jdbcTemplate.query("SELECT location IS NOT NULL FROM profiles WHERE user_id = ?",
+                        (rs, row) -> rs.getBoolean(1), userId)
+                .stream()
+                .findFirst()
+                .orElse(false);
+        if (located) {
+            return jdbcTemplate.queryForList(NEARBY_CANDIDATES, UUID.class, userId, userId, limit, offset);
+        }
+        return jdbcTemplate.queryForList(RECENT_CANDIDATES, UUID.class, userId, limit, offset);
+    }
+
+    /**
+     * Пул кандидатов из профилей указанных пользователей для оценки по маске query;
+     * кандидаты без профиля пропускаются. Маски читаются только на длину query
+     */
+    public CandidatePool findCandidatePool(final Collection<UUID> userIds, final InterestVector query) {
+        List<UUID> ids = new ArrayList<>(userIds.size());
+        List<InterestVector> vectors = new ArrayList<>(userIds.size());
+        jdbcTemplate.query("SELECT user_id, substring(interest_bits FROM 1 FOR ?) FROM profiles "
+                        + "WHERE user_id = ANY(?)",
+                ps -> {
+                    ps.setInt(1, query.size() * Long.BYTES);
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", userIds.toArray()));
+                },
+                rs -> {
+                    ids.add(rs.getObject(1, UUID.class));
+                    vectors.add(InterestVector.fromBytes(rs.getBytes(2)));
+                });
+        return CandidatePool.of(ids.toArray(UUID[]::new), vectors.toArray(InterestVector[]::new), query);
+    }
+}
@@ -0,0 +1,38 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.malina.profile.ProfileUpdate;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Запись профилей. Маску интересов и версию карточки (updated_at) обновляют триггеры в базе
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class ProfileRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Создание профиля пользователя или замена его полей
+     */
+    public void upsert(final UUID userId, final ProfileUpdate update) {
+        jdbcTemplate.update("INSERT INTO profiles (user_id, display_name, age, bio, interests) VALUES (?, ?, ?, ?, ?) "
+                        + "ON CONFLICT (user_id) DO UPDATE SET display_name = EXCLUDED.display_name, "
+                        + "age = EXCLUDED.age, bio = EXCLUDED.bio, interests = EXCLUDED.interests",
+                ps -> {
+                    List<String> interests = update.interests() == null ? List.of() : update.interests();
+                    ps.setObject(1, userId);
+                    ps.setString(2, update.displayName());
+                    ps.setObject(3, update.age(), Types.INTEGER);
+                    ps.setString(4, update.bio());
+                    ps.setArray(5, ps.getConnection().createArrayOf("text", interests.toArray()));
+                });
+    }
+}
@@ -0,0 +1,26 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Очередь жалоб для модерации
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class ReportRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Жалоба, созданная автоматической проверкой (без автора)
+     */
+    public void createAutomatic(final UUID reportedUserId, final String reason, final String details) {
+        jdbcTemplate.update("INSERT INTO reports (reported_user_id, reason, details, source) VALUES (?, ?, ?, 'auto')",
+                reportedUserId, reason, details);
+    }
+}
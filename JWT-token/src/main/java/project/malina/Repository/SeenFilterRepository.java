@@ -0,0 +1,90 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Хранение фильтров просмотренных профилей и выборки свайпов для их построения.
+ * <p>
+ * Все запросы идут на основной сервер (транзакции не read-only): с отстающей реплики фильтр
+ * загрузился бы без последних свайпов, и они больше не догрузились бы, а проверка срабатываний
+ * вернула бы уже оценённых кандидатов в ленту.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class SeenFilterRepository {
+    private static final int FETCH_SIZE = 10_000;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Сохранённый фильтр и момент, до которого в нём учтены свайпы
+     */
+    public record StoredFilter(byte[] filter, Instant updatedAt) {
+    }
+
+    public Optional<StoredFilter> find(final UUID userId) {
+        return jdbcTemplate.query("SELECT filter, updated_at FROM seen_filters WHERE user_id = ?",
+                        (rs, row) -> new StoredFilter(rs.getBytes(1), rs.getTimestamp(2).toInstant()), userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Сохранение фильтра
+     *
+     * @param replayedUntil момент, до которого в фильтре учтены свайпы; хранится в updated_at
+     */
+    public void save(final UUID userId, final byte[] filter, final Instant replayedUntil) {
+        jdbcTemplate.update("INSERT INTO seen_filters (user_id, filter, updated_at) VALUES (?, ?, ?) "
+                + "ON CONFLICT (user_id) DO UPDATE SET filter = EXCLUDED.filter, updated_at = EXCLUDED.updated_at",
+                userId, filter, Timestamp.from(replayedUntil));
+    }
+
+    /**
+     * Обход профилей, которые пользователь оценил начиная с момента since (все, если since = null)
+     */
+    public void forEachSwipedTarget(final UUID fromUser, final Instant since, final Consumer<UUID> consumer) {
+        String sql = since == null
+                ? "SELECT to_user FROM likes WHERE from_user = ?"
+                : "SELECT to_user FROM likes WHERE from_user = ? AND created_at > ?";
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setObject(1, fromUser);
+            if (since != null) {
+                statement.setTimestamp(2, Timestamp.from(since));
+            }
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getObject(1, UUID.class));
+        });
+    }
+
+    /**
+     * Какие из кандидатов пользователь уже оценивал; проверяется по likes_unique_pair
+     */
+    public Set<UUID> findSwiped(final UUID fromUser, final Collection<UUID> candidates) {
+        Set<UUID> swiped = new HashSet<>();
+        jdbcTemplate.query("SELECT to_user FROM likes WHERE from_user = ? AND to_user = ANY(?)",
+                ps -> {
+                    ps.setObject(1, fromUser);
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", candidates.toArray()));
+                },
+                rs -> {
+                    swiped.add(rs.getObject(1, UUID.class));
+                });
+        return swiped;
+    }
+}
@@ -0,0 +1,71 @@
+package project.malina.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Запись свайпов (likes) и создание пар (matches) при взаимной симпатии.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class SwipeRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Проверка, что пользователь существует и его аккаунт включён
+     */
+    public boolean isActiveUser(final UUID userId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE id = ? AND enabled)", Boolean.class, userId));
+    }
+
+    /**
+     * Сохранение оценки; повторная оценка того же профиля игнорируется.
+     * <p>
+     * Положительные оценки пары сериализуются блокировкой на время транзакции: иначе два встречных
+     * лайка в параллельных транзакциях не увидели бы друг друга, и пара не была бы создана
+     *
+     * @return пара, если оценка положительная и взаимная
+     */
+    public Optional<UUID> swipe(final UUID fromUser, final UUID toUser, final boolean positive) {
+        if (positive) {
+            lockPair(fromUser, toUser);
+        }
+        int inserted = jdbcTemplate.update("INSERT INTO likes (from_user, to_user, positive) VALUES (?, ?, ?) "
+                + "ON CONFLICT (from_user, to_user) DO NOTHING", fromUser, toUser, positive);
+        if (!positive || inserted == 0) {
+            return Optional.empty();
+        }
+        boolean mutual = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM likes WHERE from_user = ? AND to_user = ? AND positive)",
+                Boolean.class, toUser, fromUser));
+        if (!mutual) {
+            return Optional.empty();
+        }
+        // matches хранят пару в порядке user_a < user_b в порядке сравнения uuid в PostgreSQL
+        var created = jdbcTemplate.queryForList("INSERT INTO matches (user_a, user_b) "
+                + "VALUES (LEAST(?::uuid, ?::uuid), GREATEST(?::uuid, ?::uuid)) "
+                + "ON CONFLICT (user_a, user_b) DO NOTHING RETURNING id",
+                UUID.class, fromUser, toUser, fromUser, toUser);
+        if (!created.isEmpty()) {
+            return Optional.of(created.getFirst());
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM matches "
+                        + "WHERE user_a = LEAST(?::uuid, ?::uuid) AND user_b = GREATEST(?::uuid, ?::uuid)",
+                        UUID.class, fromUser, toUser, fromUser, toUser)
+                .stream()
+                .findFirst();
+    }
+
+    private void lockPair(final UUID first, final UUID second) {
+        String pair = first.compareTo(second) < 0 ? first + ":" + second : second + ":" + first;
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtextextended(?, 0))", rs -> {
+        }, pair);
+    }
+}
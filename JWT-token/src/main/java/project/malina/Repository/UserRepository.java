@@ -1,16 +1,38 @@
 package project.malina.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import project.malina.Security.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, UUID> {
+    /**
+     * Поиск по имени всегда читает базу: кэш запросов выключен, так как кэш второго уровня локален
+     * для узла, и отключение аккаунта на другом узле было бы видно при аутентификации только после
+     * истечения записи. Прочитанное состояние обновляет локальный регион {@code users}
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH"))
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
 
 
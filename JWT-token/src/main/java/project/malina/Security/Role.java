@@ -2,5 +2,6 @@ package project.malina.Security;
 
 public enum Role {
     ROLE_USER,
+    ROLE_MODERATOR,
     ROLE_ADMIN
 }
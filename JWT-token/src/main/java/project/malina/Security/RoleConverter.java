@@ -0,0 +1,38 @@
+package project.malina.Security;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Преобразование роли в значение PostgreSQL-перечисления user_role
+ * <p>
+ * Строка передаётся в БД без типа (stringtype=unspecified), поэтому приводится к перечислению на стороне сервера
+ */
+@Converter
+public class RoleConverter implements AttributeConverter<Role, String> {
+
+    @Override
+    public String convertToDatabaseColumn(final Role role) {
+        if (role == null) {
+            return null;
+        }
+        return switch (role) {
+            case ROLE_USER -> "user";
+            case ROLE_MODERATOR -> "moderator";
+            case ROLE_ADMIN -> "admin";
+        };
+    }
+
+    @Override
+    public Role convertToEntityAttribute(final String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value) {
+            case "user" -> Role.ROLE_USER;
+            case "moderator" -> Role.ROLE_MODERATOR;
+            case "admin" -> Role.ROLE_ADMIN;
+            default -> throw new IllegalArgumentException("Неизвестная роль: " + value);
+        };
+    }
+}
@@ -13,6 +13,8 @@ import project.malina.Security.Role;
 import project.malina.Security.User;
 import project.malina.SignInRequest;
 import project.malina.SignUpRequest;
+import project.malina.datasource.ReadYourWritesContext;
+import project.malina.ratelimit.RateLimiter;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +24,7 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
+    private final RateLimiter rateLimiter;
 
     /**
      * Регистрация пользователя
@@ -32,6 +35,9 @@ public class AuthenticationService {
     public JwtAuthenticationResponse signUp(final SignUpRequest request) {
 
         LOG.info("Регистрация нового пользователя '{}'", request.getUsername());
+        rateLimiter.checkUsername(request.getUsername());
+        // Регистрация анонимна: закрепление за primary после записи ведётся по имени из запроса
+        ReadYourWritesContext.setUser(request.getUsername());
         var user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
@@ -55,6 +61,8 @@ public class AuthenticationService {
      */
     public JwtAuthenticationResponse signIn(final SignInRequest request) {
         LOG.info("Попытка аутентификации пользователя '{}'", request.getUsername());
+        rateLimiter.checkUsername(request.getUsername());
+        ReadYourWritesContext.setUser(request.getUsername());
         try {
             authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                     request.getUsername(),
@@ -1,5 +1,6 @@
 package project.malina.Services;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -10,15 +11,23 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import project.malina.Repository.UserRepository;
 import project.malina.Security.Role;
 import project.malina.Security.User;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private static final Logger LOG = LogManager.getLogger(UserService.class);
+    static final int IMPORT_CHUNK_SIZE = 500;
     private final UserRepository repository;
+    private final EntityManager entityManager;
 
     /**
      * Сохранение пользователя
@@ -60,6 +69,49 @@ public class UserService {
         }
     }
 
+    /**
+     * Массовое создание пользователей
+     * <p>
+     * Дубликаты внутри импорта проверяются до сохранения первой порции, дубликаты с существующими
+     * пользователями — одним запросом на порцию. Импорт выполняется одной транзакцией: ошибка в любой
+     * порции откатывает и уже сохранённые. Порция записывается пакетными вставками
+     * (hibernate.jdbc.batch_size), после чего контекст персистентности очищается, чтобы он не рос
+     * с размером импорта
+     *
+     * @return созданные пользователи
+     */
+    @Transactional
+    public List<User> createAll(final List<User> users) {
+        LOG.info("Массовое создание {} пользователей", users.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (User user : users) {
+            if (!usernames.add(user.getUsername()) || !emails.add(user.getEmail())) {
+                LOG.warn("Дубликат пользователя '{}' в импортируемых данных", user.getUsername());
+                throw new RuntimeException("Импортируемые данные содержат дубликаты");
+            }
+        }
+        List<User> created = new ArrayList<>(users.size());
+        for (int from = 0; from < users.size(); from += IMPORT_CHUNK_SIZE) {
+            var chunk = users.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, users.size()));
+            List<String> chunkEmails = chunk.stream().map(User::getEmail).toList();
+            List<String> chunkUsernames = chunk.stream().map(User::getUsername).toList();
+            if (!repository.findExistingEmails(chunkEmails).isEmpty()) {
+                LOG.warn("Импорт содержит уже существующие email");
+                throw new RuntimeException("Пользователь с таким email уже существует");
+            }
+            if (!repository.findExistingUsernames(chunkUsernames).isEmpty()) {
+                LOG.warn("Импорт содержит уже существующие имена пользователей");
+                throw new RuntimeException("Пользователь с таким именем уже существует");
+            }
+            created.addAll(repository.saveAll(chunk));
+            entityManager.flush();
+            entityManager.clear();
+            LOG.debug("Сохранена порция из {} пользователей", chunk.size());
+        }
+        return created;
+    }
+
     /**
      * Получение пользователя по имени пользователя
      *
@@ -78,12 +130,17 @@ public class UserService {
     /**
      * Получение пользователя по имени пользователя
      * <p>
-     * Нужен для Spring Security
+     * Нужен для Spring Security; пользователь читается из базы, поэтому отключённый аккаунт
+     * сразу перестаёт проходить аутентификацию на всех узлах
      *
      * @return пользователь
      */
     public UserDetailsService userDetailsService() {
-        return this::getByUsername;
+        return username -> repository.findByUsername(username)
+                .orElseThrow(() -> {
+                    LOG.error("Пользователь '{}' не найден", username);
+                    return new UsernameNotFoundException("Пользователь не найден");
+                });
     }
 
     /**
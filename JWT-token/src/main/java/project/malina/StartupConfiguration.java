@@ -0,0 +1,82 @@
+package project.malina;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+    private static final Logger LOG = LogManager.getLogger(StartupConfiguration.class);
+
+    /**
+     * Бины, которые создаются при старте даже при spring.main.lazy-initialization=true
+     * <p>
+     * Миграции и инициализация Hibernate должны пройти до готовности экземпляра,
+     * иначе их стоимость (и возможные ошибки схемы) достанется первому запросу.
+     * Бины с методами {@link Scheduled} создаются сразу: ленивый бин не регистрирует свои задачи,
+     * и фоновая работа (удаление аккаунтов, обновление словаря модерации и фильтров просмотренных)
+     * не шла бы, пока к бину не обратится запрос
+     *
+     * @return фильтр исключений ленивой инициализации
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        LazyInitializationExcludeFilter infrastructure = LazyInitializationExcludeFilter.forBeanTypes(
+                Flyway.class,
+                FlywayMigrationInitializer.class,
+                DataSource.class,
+                EntityManagerFactory.class,
+                SecurityFilterChain.class
+        );
+        return (beanName, definition, beanType) -> infrastructure.isExcluded(beanName, definition, beanType)
+                || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(final Class<?> beanType) {
+        Class<?> userType = ClassUtils.getUserClass(beanType);
+        if (!AnnotationUtils.isCandidateClass(userType, List.of(Scheduled.class, Schedules.class))) {
+            return false;
+        }
+        MethodIntrospector.MetadataLookup<Boolean> scheduled = method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, Schedules.class) ? Boolean.TRUE : null;
+        return !MethodIntrospector.selectMethods(userType, scheduled).isEmpty();
+    }
+
+    /**
+     * Применение миграций при старте
+     * <p>
+     * Тренировочный запуск для CDS-архива (spring.context.exit=onRefresh) не требует БД,
+     * а с AOT отключить Flyway свойством уже нельзя: условия зафиксированы при сборке
+     *
+     * @param environment окружение приложения
+     * @return стратегия миграции
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(final Environment environment) {
+        return flyway -> {
+            if ("onRefresh".equals(environment.getProperty("spring.context.exit"))) {
+                LOG.info("Тренировочный запуск, миграции БД пропущены");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package project.malina.account;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "malina.account-deletion")
+public class AccountDeletionProperties {
+    /**
+     * Сколько строк удаляется одной транзакцией
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Период проверки очереди удаления
+     */
+    private Duration pollInterval = Duration.ofSeconds(10);
+
+    /**
+     * Время без прогресса, после которого задачу может забрать другой узел
+     */
+    private Duration lease = Duration.ofMinutes(5);
+}
@@ -0,0 +1,80 @@
+package project.malina.account;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.malina.Repository.AccountDataRepository;
+import project.malina.Repository.UserRepository;
+import project.malina.Security.User;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Асинхронное удаление аккаунта.
+ * <p>
+ * Запрос удаления только отключает аккаунт и ставит задачу в очередь: вход и запросы с выданными
+ * токенами перестают проходить сразу. Зависимые строки удаляются фоновой задачей порциями
+ * по chunkSize, каждая в своей транзакции, после чего удаляется сама строка users.
+ * Задача захватывается на время lease, поэтому при падении узла её доделает другой.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountDeletionService {
+    private static final Logger LOG = LogManager.getLogger(AccountDeletionService.class);
+    private final AccountDataRepository accountData;
+    private final UserRepository userRepository;
+    private final AccountDeletionProperties properties;
+
+    /**
+     * Отключение аккаунта и постановка в очередь удаления
+     */
+    @Transactional
+    public void requestDeletion(final User user) {
+        LOG.warn("Запрошено удаление аккаунта '{}'", user.getUsername());
+        user.setEnabled(false);
+        // Сохранение через JPA обновляет кэш второго уровня этого узла; другие узлы
+        // проверяют аккаунт при аутентификации в обход кэша
+        userRepository.save(user);
+        accountData.enqueueDeletion(user.getId());
+    }
+
+    /**
+     * Обработка очереди: задачи забираются по одной, пока очередь не опустеет
+     */
+    @Scheduled(fixedDelayString = "#{@accountDeletionProperties.pollInterval.toMillis()}")
+    public void processPending() {
+        try {
+            Optional<UUID> next = accountData.claimDeletion(properties.getLease());
+            while (next.isPresent()) {
+                purge(next.get());
+                next = accountData.claimDeletion(properties.getLease());
+            }
+        } catch (DataAccessException ex) {
+            // Задача останется захваченной до истечения lease и будет повторена
+            LOG.error("Ошибка при удалении аккаунта, задача будет повторена", ex);
+        }
+    }
+
+    void purge(final UUID userId) {
+        LOG.info("Начата очистка данных пользователя {}", userId);
+        long total = 0;
+        for (int step = 0; step < accountData.purgeStepCount(); step++) {
+            int deleted;
+            do {
+                deleted = accountData.purgeChunk(step, userId, properties.getChunkSize());
+                if (deleted > 0) {
+                    accountData.recordProgress(userId, deleted);
+                    total += deleted;
+                }
+            } while (deleted >= properties.getChunkSize());
+        }
+        userRepository.deleteById(userId);
+        accountData.completeDeletion(userId);
+        LOG.info("Аккаунт {} удалён, удалено зависимых строк: {}", userId, total);
+    }
+}
@@ -0,0 +1,90 @@
+package project.malina.account;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.AccountDataRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Выгрузка данных пользователя в формате NDJSON.
+ * <p>
+ * Каждая строка — объект {"type": ..., "data": {...}} для одной записи. Строки читаются
+ * из базы курсором и сразу пишутся в поток, поэтому объём выгрузки не ограничен памятью.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountExportService {
+    private static final Logger LOG = LogManager.getLogger(AccountExportService.class);
+    private final AccountDataRepository accountData;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Запись всех данных пользователя в поток; поток не закрывается
+     */
+    public void export(final UUID userId, final OutputStream out) {
+        LOG.info("Выгрузка данных пользователя {}", userId);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            long[] rows = new long[1];
+            accountData.forEachExportRow(userId, (type, row) -> {
+                try {
+                    writeRow(json, type, row);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                rows[0]++;
+            });
+            LOG.debug("Выгружено {} записей пользователя {}", rows[0], userId);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeRow(final JsonGenerator json, final String type, final ResultSet row)
+            throws IOException, SQLException {
+        ResultSetMetaData meta = row.getMetaData();
+        json.writeStartObject();
+        json.writeStringField("type", type);
+        json.writeObjectFieldStart("data");
+        for (int column = 1; column <= meta.getColumnCount(); column++) {
+            json.writeFieldName(meta.getColumnLabel(column));
+            writeValue(json, row.getObject(column));
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeValue(final JsonGenerator json, final Object value) throws IOException, SQLException {
+        switch (value) {
+            case null -> json.writeNull();
+            case Boolean bool -> json.writeBoolean(bool);
+            case Integer number -> json.writeNumber(number);
+            case Long number -> json.writeNumber(number);
+            case Number number -> json.writeNumber(number.toString());
+            case Timestamp timestamp -> json.writeString(timestamp.toInstant().toString());
+            case Array array -> {
+                json.writeStartArray();
+                for (Object element : (Object[]) array.getArray()) {
+                    writeValue(json, element);
+                }
+                json.writeEndArray();
+            }
+            default -> json.writeString(value.toString());
+        }
+    }
+}
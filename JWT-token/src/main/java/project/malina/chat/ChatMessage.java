@@ -0,0 +1,10 @@
+package project.malina.chat;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Сообщение в паре
+ */
+public record ChatMessage(UUID id, UUID matchId, UUID senderId, String content, Instant sentAt) {
+}
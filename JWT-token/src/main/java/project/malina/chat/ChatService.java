@@ -0,0 +1,34 @@
+package project.malina.chat;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.MessageRepository;
+import project.malina.moderation.ContentFilter;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ChatService {
+    private static final Logger LOG = LogManager.getLogger(ChatService.class);
+    private final MessageRepository repository;
+    private final ContentFilter contentFilter;
+
+    /**
+     * Отправка сообщения; текст проверяется фильтром содержимого, при нарушении сообщение
+     * доставляется, а на отправителя заводится автоматическая жалоба для модерации
+     *
+     * @return сообщение или пусто, если отправитель не участвует в паре
+     */
+    public Optional<ChatMessage> send(final UUID matchId, final UUID senderId, final String content) {
+        Optional<ChatMessage> message = repository.create(matchId, senderId, content);
+        message.ifPresent(sent -> {
+            LOG.debug("Сообщение {} в паре {}", sent.id(), matchId);
+            contentFilter.screenMessage(senderId, sent.id(), content);
+        });
+        return message;
+    }
+}
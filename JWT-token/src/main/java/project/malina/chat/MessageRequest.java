@@ -0,0 +1,14 @@
+package project.malina.chat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Отправка сообщения в пару")
+public record MessageRequest(
+        @Schema(description = "Текст сообщения", example = "Привет!")
+        @NotBlank(message = "Сообщение не может быть пустым")
+        @Size(max = 5000, message = "Сообщение должно содержать не более 5000 символов")
+        String content
+) {
+}
@@ -0,0 +1,28 @@
+package project.malina.datasource;
+
+/**
+ * Имя пользователя, от лица которого выполняется запрос, до появления аутентификации.
+ * <p>
+ * Регистрация проходит анонимно, а первый запрос с токеном загружает пользователя ещё до того,
+ * как он попадает в SecurityContext. Чтобы закрепление за primary работало и в этих случаях,
+ * имя из запроса регистрации или из JWT сохраняется здесь; очищает его JwtAuthenticationFilter
+ * по завершении запроса.
+ */
+public final class ReadYourWritesContext {
+    private static final ThreadLocal<String> USER = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void setUser(final String username) {
+        USER.set(username);
+    }
+
+    public static String getUser() {
+        return USER.get();
+    }
+
+    public static void clear() {
+        USER.remove();
+    }
+}
@@ -0,0 +1,91 @@
+package project.malina.datasource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Учёт последних записей пользователей для чтения своих изменений (read-your-writes).
+ * <p>
+ * После фиксации пишущей транзакции пользователь на stickyWindow «прилипает» к primary,
+ * чтобы не увидеть на отстающей реплике состояние до собственной записи. Ключ — имя пользователя:
+ * из SecurityContext, а если аутентификации ещё нет — из {@link ReadYourWritesContext}
+ * (регистрация и загрузка пользователя по JWT).
+ * <p>
+ * Отметки хранятся в памяти узла и другим узлам не видны: при нескольких экземплярах приложения
+ * гарантия действует, только если балансировщик направляет запросы пользователя на один узел.
+ * Без этого запрос на другом узле сразу после записи может прочитать реплику до её применения.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+    private static final Logger LOG = LogManager.getLogger(ReadYourWritesTracker.class);
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    public ReadYourWritesTracker(final Duration stickyWindow) {
+        this(stickyWindow, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(final Duration stickyWindow, final LongSupplier clock) {
+        this.windowNanos = stickyWindow.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterCommit(final TransactionExecution transaction, final Throwable failure) {
+        if (failure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        var user = currentUser();
+        if (user != null) {
+            LOG.trace("Чтения пользователя '{}' закреплены за primary после записи", user);
+            stickyUntil.put(user, clock.getAsLong() + windowNanos);
+        }
+    }
+
+    /**
+     * Проверка, должен ли текущий пользователь читать с primary
+     *
+     * @return true, если пользователь недавно выполнял запись
+     */
+    public boolean isCurrentUserSticky() {
+        var user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until - clock.getAsLong() > 0) {
+            return true;
+        }
+        stickyUntil.remove(user, until);
+        return false;
+    }
+
+    /**
+     * Удаление истёкших отметок о записи
+     */
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return ReadYourWritesContext.getUser();
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,81 @@
+package project.malina.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Маршрутизация соединений: запись на primary, read-only транзакции на реплики.
+ * <p>
+ * LazyConnectionDataSourceProxy откладывает получение соединения до первого запроса,
+ * когда транзакция уже пометила его как read-only, и в этом случае берёт соединение из readOnlyDataSource.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "malina.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+    private final ReplicaRoutingProperties properties;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(properties.getStickyWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            final HikariDataSource primaryDataSource,
+            final DataSourceProperties dataSourceProperties,
+            final ReadYourWritesTracker readYourWritesTracker
+    ) {
+        List<DataSource> replicas = properties.getReplicas().stream()
+                .map(replica -> (DataSource) replicaDataSource(replica, primaryDataSource, dataSourceProperties))
+                .toList();
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker,
+                properties.getMaxLag(), properties.getLagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            final HikariDataSource primaryDataSource,
+            final ReplicaRoutingDataSource replicaRoutingDataSource
+    ) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    private static HikariDataSource replicaDataSource(
+            final ReplicaRoutingProperties.Replica replica,
+            final HikariDataSource primary,
+            final DataSourceProperties dataSourceProperties
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(replica.getUrl())
+                .username(replica.getUsername() != null ? replica.getUsername() : primary.getUsername())
+                .password(replica.getPassword() != null ? replica.getPassword() : primary.getPassword())
+                .build();
+        dataSource.setMaximumPoolSize(primary.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        dataSource.setDataSourceProperties(primary.getDataSourceProperties());
+        return dataSource;
+    }
+}
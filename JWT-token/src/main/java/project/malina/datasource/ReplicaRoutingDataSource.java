@@ -0,0 +1,113 @@
+package project.malina.datasource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник соединений для read-only транзакций.
+ * <p>
+ * Раздаёт соединения реплик по кругу, исключая реплики, отставание которых превышает maxLag
+ * или которые недоступны. Если подходящих реплик нет или текущий пользователь недавно писал,
+ * соединение берётся с primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger LOG = LogManager.getLogger(ReplicaRoutingDataSource.class);
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<DataSource> healthy;
+
+    public ReplicaRoutingDataSource(
+            final DataSource primary,
+            final List<DataSource> replicas,
+            final ReadYourWritesTracker tracker,
+            final Duration maxLag,
+            final String lagQuery
+    ) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        // До первой проверки отставания состояние реплик неизвестно, поэтому читаем с primary
+        this.healthy = List.of();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    /**
+     * Проверка отставания реплик
+     */
+    @Scheduled(fixedDelayString = "#{@replicaRoutingProperties.lagCheckInterval.toMillis()}")
+    public void checkReplicationLag() {
+        List<DataSource> available = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            double lag = lagSeconds(replicas.get(i));
+            if (lag <= maxLagSeconds) {
+                available.add(replicas.get(i));
+            } else {
+                LOG.warn("Реплика #{} исключена из чтения, отставание {} с", i, lag);
+            }
+        }
+        if (available.size() != healthy.size()) {
+            LOG.info("Доступно реплик для чтения: {} из {}", available.size(), replicas.size());
+        }
+        healthy = List.copyOf(available);
+        tracker.evictExpired();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource select() {
+        if (tracker.isCurrentUserSticky()) {
+            return primary;
+        }
+        List<DataSource> candidates = healthy;
+        if (candidates.isEmpty()) {
+            LOG.trace("Нет доступных реплик, чтение выполняется на primary");
+            return primary;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private double lagSeconds(final DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            return result.next() ? result.getDouble(1) : Double.MAX_VALUE;
+        } catch (SQLException ex) {
+            LOG.error("Не удалось проверить отставание реплики", ex);
+            return Double.MAX_VALUE;
+        }
+    }
+}
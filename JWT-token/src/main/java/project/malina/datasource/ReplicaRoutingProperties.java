@@ -0,0 +1,55 @@
+package project.malina.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "malina.datasource.routing")
+public class ReplicaRoutingProperties {
+    /**
+     * Включена ли маршрутизация read-only транзакций на реплики
+     */
+    private boolean enabled;
+
+    /**
+     * Подключения к репликам; логин и пароль по умолчанию берутся из spring.datasource
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Максимально допустимое отставание реплики, после которого чтение уходит на primary
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Период проверки отставания реплик
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Время после записи пользователя, в течение которого его чтения идут на primary
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /**
+     * Запрос, возвращающий отставание реплики в секундах
+     */
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.stereotype.Component;
 
 @Aspect
@@ -12,7 +13,14 @@ import org.springframework.stereotype.Component;
 public class RepositoryLoggingAspect {
     private static final Logger LOG = LogManager.getLogger(RepositoryLoggingAspect.class);
 
-    @Around("within(@org.springframework.stereotype.Repository *)")
+    /**
+     * Вызовы репозиториев: классы с @Repository и реализации Spring Data
+     */
+    @Pointcut("within(@org.springframework.stereotype.Repository *)")
+    public void repositoryCall() {
+    }
+
+    @Around("repositoryCall()")
     public Object logRepositoryCall(final ProceedingJoinPoint joinPoint) throws Throwable {
         String methodSignature = joinPoint.getSignature().toShortString();
         LOG.debug("Вызов метода репозитория {}", methodSignature);
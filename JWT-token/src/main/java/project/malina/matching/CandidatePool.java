@@ -0,0 +1,70 @@
+package project.malina.matching;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Пул кандидатов для ранжирования.
+ * <p>
+ * Маски всех кандидатов уложены в один массив long с постоянным шагом, чтобы оценка
+ * шла по непрерывной памяти без разыменования объектов на каждого кандидата.
+ * Пул строится под конкретный запрос: шаг равен длине маски запроса, так как старшие слова
+ * кандидатов с ним не пересекаются и хранить их незачем.
+ */
+public final class CandidatePool {
+    private final UUID[] userIds;
+    private final long[] words;
+    private final int stride;
+
+    private CandidatePool(final UUID[] userIds, final long[] words, final int stride) {
+        this.userIds = userIds;
+        this.words = words;
+        this.stride = stride;
+    }
+
+    /**
+     * Пул для оценки по маске query
+     */
+    public static CandidatePool of(final UUID[] userIds, final InterestVector[] vectors, final InterestVector query) {
+        if (userIds.length != vectors.length) {
+            throw new IllegalArgumentException("Количество кандидатов и масок не совпадает");
+        }
+        int stride = query.size();
+        long[] words = new long[vectors.length * stride];
+        for (int i = 0; i < vectors.length; i++) {
+            for (int w = 0; w < stride; w++) {
+                words[i * stride + w] = vectors[i].word(w);
+            }
+        }
+        return new CandidatePool(userIds.clone(), words, stride);
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+
+    UUID userId(final int index) {
+        return userIds[index];
+    }
+
+    /**
+     * Число общих интересов кандидата с маской запроса
+     */
+    int overlap(final int index, final long[] query) {
+        int offset = index * stride;
+        int common = 0;
+        for (int w = 0; w < stride; w++) {
+            common += Long.bitCount(words[offset + w] & query[w]);
+        }
+        return common;
+    }
+
+    long[] align(final InterestVector query) {
+        if (query.size() > stride) {
+            throw new IllegalArgumentException("Пул построен для более короткой маски запроса");
+        }
+        long[] aligned = new long[stride];
+        Arrays.setAll(aligned, query::word);
+        return aligned;
+    }
+}
@@ -0,0 +1,56 @@
+package project.malina.matching;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.ProfileInterestRepository;
+import project.malina.seen.SeenFilterService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class CandidateRankingService {
+    private static final Logger LOG = LogManager.getLogger(CandidateRankingService.class);
+    private final ProfileInterestRepository repository;
+    private final CandidateScorer scorer;
+    private final SeenFilterService seenFilter;
+    private final MatchingProperties properties;
+
+    /**
+     * Лента кандидатов для пользователя
+     * <p>
+     * Пул строится на сервере: {@link MatchingProperties#getPoolSize()} ближайших к пользователю
+     * активных профилей (без отключённых и заблокированных аккаунтов), а без местоположения —
+     * недавно обновлённых. Уже оценённые кандидаты отсекаются фильтром просмотренных; если
+     * неоценённых в странице пула меньше limit, читается следующая страница, но не больше
+     * {@link MatchingProperties#getMaxPoolPages()}. Пул ранжируется по числу общих интересов
+     *
+     * @param userId пользователь, для которого строится выдача
+     * @param limit сколько кандидатов вернуть
+     * @return кандидаты по убыванию числа общих интересов
+     */
+    public List<ScoredCandidate> feed(final UUID userId, final int limit) {
+        InterestVector query = repository.findByUserId(userId)
+                .map(vector -> vector.truncate(properties.getMaxInterests()))
+                .orElse(InterestVector.EMPTY);
+        List<UUID> candidateIds = new ArrayList<>();
+        int poolSize = properties.getPoolSize();
+        for (int page = 0; page < properties.getMaxPoolPages() && candidateIds.size() < limit; page++) {
+            List<UUID> candidates = repository.findCandidateIds(userId, page * poolSize, poolSize);
+            candidateIds.addAll(seenFilter.filterUnseen(userId, candidates));
+            if (candidates.size() < poolSize) {
+                break;
+            }
+        }
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        CandidatePool pool = repository.findCandidatePool(candidateIds, query);
+        LOG.debug("Ранжирование {} кандидатов по {} интересам", pool.size(), query.cardinality());
+        return scorer.topK(query, pool, limit);
+    }
+}
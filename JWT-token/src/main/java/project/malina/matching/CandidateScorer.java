@@ -0,0 +1,171 @@
+package project.malina.matching;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ранжирование кандидатов по числу общих интересов.
+ * <p>
+ * Оценки считаются popcount(AND) по словам масок; большие пулы делятся на части и считаются
+ * параллельно в ForkJoinPool, после чего лучшие k выбираются кучей фиксированного размера.
+ * При равной оценке выше стоит кандидат, раньше попавший в пул.
+ */
+@Component
+public class CandidateScorer {
+    static final int DEFAULT_THRESHOLD = 2048;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public CandidateScorer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    CandidateScorer(final ForkJoinPool pool, final int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Лучшие кандидаты по убыванию числа общих интересов
+     *
+     * @param query маска интересов пользователя
+     * @param candidates пул кандидатов
+     * @param limit сколько кандидатов вернуть
+     */
+    public List<ScoredCandidate> topK(final InterestVector query, final CandidatePool candidates, final int limit) {
+        int[] scores = score(query, candidates);
+        int k = Math.min(limit, scores.length);
+        if (k <= 0) {
+            return List.of();
+        }
+        long[] heap = new long[k];
+        int size = 0;
+        for (int i = 0; i < scores.length; i++) {
+            long key = key(scores[i], i);
+            if (size < k) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, k);
+            }
+        }
+        // Из кучи минимумов элементы извлекаются от худшего к лучшему
+        ScoredCandidate[] ranked = new ScoredCandidate[k];
+        for (int n = k; n > 0; n--) {
+            long worst = heap[0];
+            heap[0] = heap[n - 1];
+            siftDown(heap, n - 1);
+            int index = Integer.MAX_VALUE - (int) worst;
+            ranked[n - 1] = new ScoredCandidate(candidates.userId(index), (int) (worst >>> Integer.SIZE));
+        }
+        return List.of(ranked);
+    }
+
+    /**
+     * Оценки всех кандидатов пула
+     */
+    public int[] score(final InterestVector query, final CandidatePool candidates) {
+        int[] scores = new int[candidates.size()];
+        long[] aligned = candidates.align(query);
+        if (scores.length <= threshold) {
+            scoreRange(candidates, aligned, scores, 0, scores.length);
+        } else {
+            pool.invoke(new ScoreTask(candidates, aligned, scores, 0, scores.length));
+        }
+        return scores;
+    }
+
+    private static void scoreRange(
+            final CandidatePool candidates,
+            final long[] query,
+            final int[] scores,
+            final int from,
+            final int to
+    ) {
+        for (int i = from; i < to; i++) {
+            scores[i] = candidates.overlap(i, query);
+        }
+    }
+
+    /**
+     * Ключ кучи: старшие биты — оценка, младшие — инвертированный индекс для стабильного порядка
+     */
+    private static long key(final int score, final int index) {
+        return (long) score << Integer.SIZE | Integer.MAX_VALUE - index;
+    }
+
+    private static void siftUp(final long[] heap, final int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (heap[parent] <= heap[child]) {
+                return;
+            }
+            swap(heap, parent, child);
+            child = parent;
+        }
+    }
+
+    private static void siftDown(final long[] heap, final int size) {
+        int parent = 0;
+        while (true) {
+            int smallest = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == parent) {
+                return;
+            }
+            swap(heap, parent, smallest);
+            parent = smallest;
+        }
+    }
+
+    private static void swap(final long[] heap, final int i, final int j) {
+        long tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private final class ScoreTask extends RecursiveAction {
+        private final CandidatePool candidates;
+        private final long[] query;
+        private final int[] scores;
+        private final int from;
+        private final int to;
+
+        ScoreTask(
+                final CandidatePool candidates,
+                final long[] query,
+                final int[] scores,
+                final int from,
+                final int to
+        ) {
+            this.candidates = candidates;
+            this.query = query;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                scoreRange(candidates, query, scores, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoreTask(candidates, query, scores, from, middle),
+                    new ScoreTask(candidates, query, scores, middle, to));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package project.malina.matching;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Набор интересов профиля в виде битовой маски: бит i установлен, если у профиля есть интерес
+ * с индексом i из таблицы interests.
+ * <p>
+ * Хранится в profiles.interest_bits как 64-битные слова в порядке little-endian,
+ * поэтому число общих интересов считается как popcount(a AND b) по словам.
+ */
+public final class InterestVector {
+    public static final InterestVector EMPTY = new InterestVector(new long[0]);
+    private final long[] words;
+
+    private InterestVector(final long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Вектор из индексов интересов
+     */
+    public static InterestVector of(final int... bits) {
+        int max = -1;
+        for (int bit : bits) {
+            max = Math.max(max, bit);
+        }
+        long[] words = new long[max / Long.SIZE + 1];
+        for (int bit : bits) {
+            words[bit / Long.SIZE] |= 1L << bit;
+        }
+        return new InterestVector(words);
+    }
+
+    /**
+     * Чтение значения столбца profiles.interest_bits
+     */
+    public static InterestVector fromBytes(final byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(bytes.length + Long.BYTES - 1) / Long.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, words.length * Long.BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().get(words);
+        return new InterestVector(words);
+    }
+
+    /**
+     * Маска только с интересами, индекс которых меньше maxBits
+     */
+    public InterestVector truncate(final int maxBits) {
+        int length = Math.min(words.length, (maxBits + Long.SIZE - 1) / Long.SIZE);
+        if (length == words.length && maxBits >= words.length * Long.SIZE) {
+            return this;
+        }
+        long[] truncated = Arrays.copyOf(words, length);
+        if (length > 0 && maxBits % Long.SIZE != 0 && length * Long.SIZE > maxBits) {
+            truncated[length - 1] &= -1L >>> Long.SIZE - maxBits % Long.SIZE;
+        }
+        return new InterestVector(truncated);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    /**
+     * Число общих интересов
+     */
+    public int overlap(final InterestVector other) {
+        int length = Math.min(words.length, other.words.length);
+        int common = 0;
+        for (int i = 0; i < length; i++) {
+            common += Long.bitCount(words[i] & other.words[i]);
+        }
+        return common;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public boolean contains(final int bit) {
+        return bit / Long.SIZE < words.length && (words[bit / Long.SIZE] & 1L << bit) != 0;
+    }
+
+    /**
+     * Количество 64-битных слов
+     */
+    public int size() {
+        return words.length;
+    }
+
+    long word(final int index) {
+        return index < words.length ? words[index] : 0L;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InterestVector other)) {
+            return false;
+        }
+        int length = Math.max(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if (word(i) != other.word(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+}
@@ -0,0 +1,28 @@
+package project.malina.matching;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "malina.matching")
+public class MatchingProperties {
+    /**
+     * Сколько интересов из словаря участвует в оценке: учитываются интересы с индексом меньше этого
+     * значения. Словарь пополняется произвольным вводом пользователей, поэтому без ограничения
+     * маски запроса и пула росли бы вместе с ним
+     */
+    private int maxInterests = 1024;
+    /**
+     * Сколько кандидатов отбирается из базы за один запрос для ранжирования в ленте
+     */
+    private int poolSize = 500;
+    /**
+     * Сколько страниц пула можно прочитать, если среди ближайших кандидатов слишком мало
+     * ещё не оценённых
+     */
+    private int maxPoolPages = 5;
+}
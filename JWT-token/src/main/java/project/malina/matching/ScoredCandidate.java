@@ -0,0 +1,9 @@
+package project.malina.matching;
+
+import java.util.UUID;
+
+/**
+ * Кандидат и число общих интересов с пользователем
+ */
+public record ScoredCandidate(UUID userId, int score) {
+}
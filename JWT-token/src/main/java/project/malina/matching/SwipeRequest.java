@@ -0,0 +1,17 @@
+package project.malina.matching;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+@Schema(description = "Оценка кандидата из ленты")
+public record SwipeRequest(
+        @Schema(description = "Оцениваемый пользователь")
+        @NotNull(message = "Пользователь не может быть пустым")
+        UUID targetUserId,
+
+        @Schema(description = "true — симпатия, false — пропуск", example = "true")
+        boolean positive
+) {
+}
@@ -0,0 +1,9 @@
+package project.malina.matching;
+
+import java.util.UUID;
+
+/**
+ * Результат оценки: пара, если симпатия оказалась взаимной, иначе matchId = null
+ */
+public record SwipeResult(UUID matchId) {
+}
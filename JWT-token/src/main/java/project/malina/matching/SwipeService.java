@@ -0,0 +1,35 @@
+package project.malina.matching;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.SwipeRepository;
+import project.malina.seen.SeenFilterService;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class SwipeService {
+    private static final Logger LOG = LogManager.getLogger(SwipeService.class);
+    private final SwipeRepository repository;
+    private final SeenFilterService seenFilter;
+
+    /**
+     * Оценка кандидата; после сохранения кандидат попадает в фильтр просмотренных и больше
+     * не показывается в ленте
+     *
+     * @return результат оценки или пусто, если оцениваемый пользователь не найден или отключён
+     */
+    public Optional<SwipeResult> swipe(final UUID userId, final UUID targetId, final boolean positive) {
+        if (!repository.isActiveUser(targetId)) {
+            return Optional.empty();
+        }
+        Optional<UUID> match = repository.swipe(userId, targetId, positive);
+        seenFilter.recordSwipe(userId, targetId);
+        match.ifPresent(matchId -> LOG.info("Взаимная симпатия {} и {}, пара {}", userId, targetId, matchId));
+        return Optional.of(new SwipeResult(match.orElse(null)));
+    }
+}
@@ -0,0 +1,266 @@
+package project.malina.moderation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Автомат Ахо — Корасик для поиска всех шаблонов словаря за один проход по тексту.
+ * <p>
+ * Переходы хранятся плотной таблицей состояний × классов символов, в которой уже разрешены
+ * ссылки неудачи, поэтому на каждый символ приходится одно обращение к массиву. Классы символов
+ * строятся после приведения регистра и замены «ё» на «е»; символы, которых нет в словаре, попадают
+ * в общий класс 0. Дополнительно в том же проходе ищутся серии цифр, похожие на номер телефона:
+ * группы цифр, разделённые не более чем {@link #MAX_PHONE_GAP} символами-разделителями, где группа
+ * из четырёх и более цифр может быть только последней (+7 (912) 345-67-89, 912-345-6789, 89123456789),
+ * всего от minPhoneDigits до {@link #MAX_PHONE_DIGITS} цифр. Поэтому перечисления чисел
+ * («1000 2000 3000», цены через запятую) и длинные номера заказов телефоном не считаются.
+ * <p>
+ * Сканирование не выделяет память; автомат неизменяем и может использоваться из разных потоков.
+ */
+public final class ContentAutomaton {
+    /**
+     * Шаблон, которым сообщается о найденной серии цифр
+     */
+    public static final ContentPattern PHONE_NUMBER = new ContentPattern(ContentCategory.CONTACT, "<phone>", false);
+    static final int MAX_PHONE_GAP = 2;
+    static final int MAX_PHONE_DIGITS = 15;
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final char[] classes;
+    private final int alphabet;
+    private final int[] transitions;
+    private final int[] output;
+    private final int[] outputLink;
+    private final ContentPattern[] patterns;
+    private final int minPhoneDigits;
+
+    private ContentAutomaton(
+            final char[] classes,
+            final int alphabet,
+            final int[] transitions,
+            final int[] output,
+            final int[] outputLink,
+            final ContentPattern[] patterns,
+            final int minPhoneDigits
+    ) {
+        this.classes = classes;
+        this.alphabet = alphabet;
+        this.transitions = transitions;
+        this.output = output;
+        this.outputLink = outputLink;
+        this.patterns = patterns;
+        this.minPhoneDigits = minPhoneDigits;
+    }
+
+    /**
+     * Построение автомата
+     *
+     * @param dictionary шаблоны; повторы после приведения регистра отбрасываются
+     * @param minPhoneDigits сколько цифр в серии, похожей на телефон (допускаются пробелы, скобки, дефисы),
+     *                       считать телефоном; 0 отключает поиск телефонов
+     */
+    public static ContentAutomaton build(final List<ContentPattern> dictionary, final int minPhoneDigits) {
+        Map<String, ContentPattern> unique = new LinkedHashMap<>();
+        for (ContentPattern pattern : dictionary) {
+            String folded = fold(pattern.text());
+            if (!folded.isEmpty()) {
+                unique.putIfAbsent(folded, pattern);
+            }
+        }
+        char[] classOf = new char[Character.MAX_VALUE + 1];
+        int alphabet = 1;
+        for (String text : unique.keySet()) {
+            for (int i = 0; i < text.length(); i++) {
+                if (classOf[text.charAt(i)] == 0) {
+                    classOf[text.charAt(i)] = (char) alphabet++;
+                }
+            }
+        }
+        char[] classes = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            classes[c] = classOf[fold((char) c)];
+        }
+
+        Trie trie = new Trie(alphabet);
+        List<ContentPattern> patterns = new ArrayList<>(unique.values());
+        int index = 0;
+        for (String text : unique.keySet()) {
+            int state = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                state = trie.child(state, classOf[text.charAt(i)]);
+            }
+            trie.output[state] = index++;
+        }
+        trie.resolveFailures();
+        return new ContentAutomaton(classes, alphabet,
+                Arrays.copyOf(trie.transitions, trie.states * alphabet),
+                Arrays.copyOf(trie.output, trie.states),
+                Arrays.copyOf(trie.outputLink, trie.states),
+                patterns.toArray(ContentPattern[]::new),
+                minPhoneDigits);
+    }
+
+    /**
+     * Поиск всех совпадений в тексте, включая перекрывающиеся
+     */
+    public void scan(final CharSequence text, final MatchListener listener) {
+        int state = ROOT;
+        int digits = 0;
+        int groupDigits = 0;
+        int gap = 0;
+        int phoneStart = 0;
+        int phoneEnd = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            state = transitions[state * alphabet + classes[c]];
+            for (int s = output[state] != NONE ? state : outputLink[state]; s != NONE; s = outputLink[s]) {
+                ContentPattern pattern = patterns[output[s]];
+                int start = i + 1 - pattern.text().length();
+                if (!pattern.wholeWord() || isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    listener.onMatch(pattern, start, i + 1);
+                }
+            }
+            if (c >= '0' && c <= '9') {
+                if (gap > 0) {
+                    // Новая группа; после группы из четырёх и более цифр телефон не продолжается
+                    if (groupDigits >= 4) {
+                        reportPhone(listener, digits, phoneStart, phoneEnd);
+                        digits = 0;
+                    }
+                    groupDigits = 0;
+                    gap = 0;
+                }
+                if (digits == 0) {
+                    phoneStart = i;
+                }
+                digits++;
+                groupDigits++;
+                phoneEnd = i + 1;
+            } else if (digits > 0) {
+                if (isPhoneSeparator(c) && gap < MAX_PHONE_GAP) {
+                    gap++;
+                } else {
+                    reportPhone(listener, digits, phoneStart, phoneEnd);
+                    digits = 0;
+                    groupDigits = 0;
+                    gap = 0;
+                }
+            }
+        }
+        reportPhone(listener, digits, phoneStart, phoneEnd);
+    }
+
+    /**
+     * Количество состояний автомата
+     */
+    public int size() {
+        return output.length;
+    }
+
+    static String fold(final String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            folded.append(fold(text.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    private static char fold(final char c) {
+        char lower = Character.toLowerCase(c);
+        return lower == 'ё' ? 'е' : lower;
+    }
+
+    private void reportPhone(final MatchListener listener, final int digits, final int start, final int end) {
+        if (minPhoneDigits > 0 && digits >= minPhoneDigits && digits <= MAX_PHONE_DIGITS) {
+            listener.onMatch(PHONE_NUMBER, start, end);
+        }
+    }
+
+    private static boolean isBoundary(final CharSequence text, final int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static boolean isPhoneSeparator(final char c) {
+        return c == ' ' || c == '-' || c == '(' || c == ')' || c == '+' || c == '.';
+    }
+
+    /**
+     * Бор на этапе построения: таблица растёт по мере добавления состояний
+     */
+    private static final class Trie {
+        private final int alphabet;
+        private int[] transitions;
+        private int[] output;
+        private int[] outputLink;
+        private int states = 1;
+
+        Trie(final int alphabet) {
+            this.alphabet = alphabet;
+            this.transitions = new int[alphabet * 16];
+            this.output = new int[16];
+            this.outputLink = new int[16];
+            Arrays.fill(transitions, NONE);
+            Arrays.fill(output, NONE);
+            Arrays.fill(outputLink, NONE);
+        }
+
+        int child(final int state, final int symbol) {
+            int next = transitions[state * alphabet + symbol];
+            if (next != NONE) {
+                return next;
+            }
+            if (states == output.length) {
+                int capacity = states * 2;
+                int oldTransitions = transitions.length;
+                transitions = Arrays.copyOf(transitions, capacity * alphabet);
+                Arrays.fill(transitions, oldTransitions, transitions.length, NONE);
+                output = Arrays.copyOf(output, capacity);
+                outputLink = Arrays.copyOf(outputLink, capacity);
+                Arrays.fill(output, states, capacity, NONE);
+                Arrays.fill(outputLink, states, capacity, NONE);
+            }
+            transitions[state * alphabet + symbol] = states;
+            return states++;
+        }
+
+        /**
+         * Обход в ширину: недостающие переходы заменяются переходами из состояния неудачи,
+         * ссылка на выход указывает на ближайшее по цепочке неудач состояние, где заканчивается шаблон
+         */
+        void resolveFailures() {
+            int[] failure = new int[states];
+            int[] queue = new int[states];
+            int head = 0;
+            int tail = 0;
+            for (int symbol = 0; symbol < alphabet; symbol++) {
+                int next = transitions[symbol];
+                if (next == NONE) {
+                    transitions[symbol] = ROOT;
+                } else {
+                    failure[next] = ROOT;
+                    queue[tail++] = next;
+                }
+            }
+            while (head < tail) {
+                int state = queue[head++];
+                for (int symbol = 0; symbol < alphabet; symbol++) {
+                    int index = state * alphabet + symbol;
+                    int fallback = transitions[failure[state] * alphabet + symbol];
+                    int next = transitions[index];
+                    if (next == NONE) {
+                        transitions[index] = fallback;
+                    } else {
+                        failure[next] = fallback;
+                        outputLink[next] = output[fallback] != NONE ? fallback : outputLink[fallback];
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package project.malina.moderation;
+
+/**
+ * Категория нарушения, найденного фильтром содержимого
+ */
+public enum ContentCategory {
+    /**
+     * Запрещённые слова
+     */
+    BANNED,
+    /**
+     * Контакты: телефоны, мессенджеры, адреса почты
+     */
+    CONTACT,
+    /**
+     * Ссылки на внешние ресурсы
+     */
+    LINK
+}
@@ -0,0 +1,192 @@
+package project.malina.moderation;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.ReportRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Проверка сообщений и описаний профилей на запрещённые слова, контакты и ссылки.
+ * <p>
+ * Текст проходит один раз через {@link ContentAutomaton}; при совпадении в очередь жалоб
+ * добавляется автоматическая жалоба на автора. Словарь перечитывается по расписанию,
+ * если изменилась дата модификации ресурса, и подменяется атомарно.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContentFilter {
+    private static final Logger LOG = LogManager.getLogger(ContentFilter.class);
+    private final ContentFilterProperties properties;
+    private final ReportRepository reports;
+    private final ResourceLoader resourceLoader;
+    private final ThreadLocal<Findings> findings = ThreadLocal.withInitial(Findings::new);
+    private volatile ContentAutomaton automaton;
+    private volatile long loadedModified;
+
+    @PostConstruct
+    public void init() {
+        Resource resource = resourceLoader.getResource(properties.getDictionary());
+        load(resource, lastModified(resource));
+    }
+
+    /**
+     * Перезагрузка словаря, если он изменился
+     */
+    @Scheduled(fixedDelayString = "#{@contentFilterProperties.reloadInterval.toMillis()}")
+    public void reload() {
+        Resource resource = resourceLoader.getResource(properties.getDictionary());
+        long modified = lastModified(resource);
+        if (modified == loadedModified) {
+            return;
+        }
+        try {
+            load(resource, modified);
+        } catch (RuntimeException ex) {
+            LOG.error("Не удалось перезагрузить словарь фильтра содержимого, используется прежний", ex);
+        }
+    }
+
+    /**
+     * Поиск всех совпадений в тексте
+     */
+    public void scan(final CharSequence text, final MatchListener listener) {
+        automaton.scan(text, listener);
+    }
+
+    /**
+     * Проверка сообщения чата
+     *
+     * @return true, если нарушений не найдено
+     */
+    public boolean screenMessage(final UUID senderId, final UUID messageId, final CharSequence body) {
+        return screen(senderId, "message", messageId, body);
+    }
+
+    /**
+     * Проверка описания профиля
+     *
+     * @return true, если нарушений не найдено
+     */
+    public boolean screenBio(final UUID userId, final CharSequence bio) {
+        return screen(userId, "bio", null, bio);
+    }
+
+    /**
+     * Проверка текста; описание источника для жалобы собирается только при совпадении
+     *
+     * @param kind вид текста
+     * @param sourceId идентификатор текста или null
+     */
+    private boolean screen(final UUID userId, final String kind, final UUID sourceId, final CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return true;
+        }
+        Findings found = findings.get();
+        found.reset();
+        automaton.scan(text, found);
+        if (found.categories == 0) {
+            return true;
+        }
+        StringJoiner reason = new StringJoiner(",", "auto:", "");
+        for (ContentCategory category : ContentCategory.values()) {
+            if ((found.categories & 1 << category.ordinal()) != 0) {
+                reason.add(category.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        String source = sourceId == null ? kind : kind + " " + sourceId;
+        String details = source + ": «" + text.subSequence(found.start, found.end) + "»";
+        LOG.info("Автоматическая жалоба на пользователя {}: {}", userId, reason);
+        reports.createAutomatic(userId, reason.toString(), details);
+        return false;
+    }
+
+    private void load(final Resource resource, final long modified) {
+        List<ContentPattern> patterns = parse(resource);
+        automaton = ContentAutomaton.build(patterns, properties.getMinPhoneDigits());
+        loadedModified = modified;
+        LOG.info("Загружен словарь фильтра содержимого {}: {} шаблонов, {} состояний",
+                resource.getDescription(), patterns.size(), automaton.size());
+    }
+
+    private static List<ContentPattern> parse(final Resource resource) {
+        List<ContentPattern> patterns = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+", 3);
+                ContentCategory category = parts.length < 3 ? null : category(parts[0]);
+                if (category == null || !"word".equals(parts[1]) && !"substring".equals(parts[1])) {
+                    LOG.warn("Пропущена некорректная строка {} словаря фильтра: {}", number, line);
+                    continue;
+                }
+                patterns.add(new ContentPattern(category, parts[2], "word".equals(parts[1])));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Не удалось прочитать словарь фильтра " + resource.getDescription(), ex);
+        }
+        return patterns;
+    }
+
+    private static ContentCategory category(final String name) {
+        for (ContentCategory category : ContentCategory.values()) {
+            if (category.name().equalsIgnoreCase(name)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    private static long lastModified(final Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException ex) {
+            // Ресурс внутри jar не меняется, перезагрузка для него не нужна
+            return 0;
+        }
+    }
+
+    /**
+     * Итог сканирования одного текста; переиспользуется потоком, чтобы не выделять память
+     */
+    private static final class Findings implements MatchListener {
+        private int categories;
+        private int start;
+        private int end;
+
+        void reset() {
+            categories = 0;
+        }
+
+        @Override
+        public void onMatch(final ContentPattern pattern, final int matchStart, final int matchEnd) {
+            if (categories == 0) {
+                start = matchStart;
+                end = matchEnd;
+            }
+            categories |= 1 << pattern.category().ordinal();
+        }
+    }
+}
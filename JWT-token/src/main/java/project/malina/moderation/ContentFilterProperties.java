@@ -0,0 +1,29 @@
+package project.malina.moderation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "malina.content-filter")
+public class ContentFilterProperties {
+    /**
+     * Словарь шаблонов; для перезагрузки без перезапуска укажите файл (file:...)
+     */
+    private String dictionary = "classpath:moderation/content-filter.txt";
+
+    /**
+     * Период проверки изменения словаря
+     */
+    private Duration reloadInterval = Duration.ofMinutes(1);
+
+    /**
+     * Сколько цифр подряд считать номером телефона; 0 отключает проверку
+     */
+    private int minPhoneDigits = 10;
+}
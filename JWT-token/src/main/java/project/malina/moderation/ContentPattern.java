@@ -0,0 +1,11 @@
+package project.malina.moderation;
+
+/**
+ * Шаблон словаря фильтра содержимого
+ *
+ * @param category категория нарушения
+ * @param text искомая строка
+ * @param wholeWord совпадение засчитывается, только если вокруг нет букв и цифр
+ */
+public record ContentPattern(ContentCategory category, String text, boolean wholeWord) {
+}
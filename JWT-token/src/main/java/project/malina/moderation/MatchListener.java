@@ -0,0 +1,14 @@
+package project.malina.moderation;
+
+/**
+ * Получатель совпадений при сканировании текста
+ */
+@FunctionalInterface
+public interface MatchListener {
+    /**
+     * @param pattern найденный шаблон
+     * @param start индекс первого символа совпадения
+     * @param end индекс после последнего символа совпадения
+     */
+    void onMatch(ContentPattern pattern, int start, int end);
+}
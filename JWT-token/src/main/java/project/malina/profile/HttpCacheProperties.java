@@ -0,0 +1,25 @@
+package project.malina.profile;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "malina.http-cache")
+public class HttpCacheProperties {
+    /**
+     * Сколько клиент использует карточку профиля без повторной проверки;
+     * после этого он получает 304, если профиль не менялся
+     */
+    private Duration profileMaxAge = Duration.ofSeconds(60);
+
+    /**
+     * Срок хранения фотографии на клиенте: фотография неизменна, новая загрузка получает новый идентификатор
+     */
+    private Duration photoMaxAge = Duration.ofDays(30);
+}
@@ -0,0 +1,24 @@
+package project.malina.profile;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Карточка профиля для ленты и чатов
+ *
+ * @param primaryPhotoId основная фотография или null
+ * @param updatedAt версия карточки (profiles.updated_at), меняется и при изменении фотографий
+ */
+public record ProfileCard(
+        UUID userId,
+        String displayName,
+        Integer age,
+        String bio,
+        String gender,
+        List<String> interests,
+        UUID primaryPhotoId,
+        List<ProfilePhoto> photos,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,45 @@
+package project.malina.profile;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.ProfileCardRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Карточки профилей и фотографии с версиями для условных запросов
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfileCardService {
+    private static final Logger LOG = LogManager.getLogger(ProfileCardService.class);
+    private final ProfileCardRepository repository;
+
+    /**
+     * Версия карточки без её загрузки
+     */
+    public Optional<Instant> findCardVersion(final UUID userId) {
+        return repository.findCardVersion(userId);
+    }
+
+    public Optional<ProfileCard> findCard(final UUID userId) {
+        LOG.debug("Загрузка карточки профиля пользователя {}", userId);
+        return repository.findCard(userId);
+    }
+
+    /**
+     * Версия фотографии без её загрузки
+     */
+    public Optional<Instant> findPhotoVersion(final UUID userId, final UUID photoId) {
+        return repository.findPhotoVersion(userId, photoId);
+    }
+
+    public Optional<ProfilePhoto> findPhoto(final UUID userId, final UUID photoId) {
+        LOG.debug("Загрузка фотографии {} пользователя {}", photoId, userId);
+        return repository.findPhoto(userId, photoId);
+    }
+}
@@ -0,0 +1,10 @@
+package project.malina.profile;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Фотография профиля; объект в хранилище не меняется, поэтому версией служит время загрузки
+ */
+public record ProfilePhoto(UUID id, String objectKey, Instant uploadedAt) {
+}
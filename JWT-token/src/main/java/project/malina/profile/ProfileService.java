@@ -0,0 +1,31 @@
+package project.malina.profile;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.ProfileRepository;
+import project.malina.moderation.ContentFilter;
+
+import java.util.UUID;
+
+/**
+ * Изменение профилей пользователями
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfileService {
+    private static final Logger LOG = LogManager.getLogger(ProfileService.class);
+    private final ProfileRepository repository;
+    private final ContentFilter contentFilter;
+
+    /**
+     * Сохранение профиля; описание проверяется фильтром содержимого, при нарушении профиль
+     * сохраняется, а на пользователя заводится автоматическая жалоба для модерации
+     */
+    public void update(final UUID userId, final ProfileUpdate update) {
+        repository.upsert(userId, update);
+        LOG.debug("Профиль пользователя {} обновлён", userId);
+        contentFilter.screenBio(userId, update.bio());
+    }
+}
@@ -0,0 +1,31 @@
+package project.malina.profile;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Изменение профиля текущего пользователя")
+public record ProfileUpdate(
+        @Schema(description = "Отображаемое имя", example = "Маша")
+        @NotBlank(message = "Имя не может быть пустым")
+        @Size(max = 100, message = "Имя должно содержать не более 100 символов")
+        String displayName,
+
+        @Schema(description = "Возраст", example = "25")
+        @Min(value = 13, message = "Возраст должен быть не меньше 13")
+        @Max(value = 120, message = "Возраст должен быть не больше 120")
+        Integer age,
+
+        @Schema(description = "О себе")
+        @Size(max = 2000, message = "Описание должно содержать не более 2000 символов")
+        String bio,
+
+        @Schema(description = "Интересы", example = "[\"музыка\", \"походы\"]")
+        @Size(max = 50, message = "Интересов должно быть не больше 50")
+        List<@NotBlank @Size(max = 50) String> interests
+) {
+}
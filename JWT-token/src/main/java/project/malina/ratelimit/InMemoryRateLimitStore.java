@@ -0,0 +1,127 @@
+package project.malina.ratelimit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Локальное хранилище бакетов на основе GCRA (generic cell rate algorithm).
+ * <p>
+ * Состояние бакета — одно число (теоретическое время прибытия следующего запроса),
+ * которое обновляется через CAS, поэтому горячий путь не берёт блокировок.
+ * Простаивающие бакеты (полностью восполненные) удаляются планировщиком. При достижении maxKeys
+ * вытесняется доля бакетов, ближе всего к полному восполнению: у них наименьшее время прибытия,
+ * поэтому сброс их состояния почти ничего не меняет, а исчерпанные бакеты (перебор паролей) сохраняются.
+ */
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+    private static final Logger LOG = LogManager.getLogger(InMemoryRateLimitStore.class);
+    /**
+     * Вытесняется 1/EVICTION_FRACTION ключей сразу, чтобы сортировка не повторялась на каждый новый ключ
+     */
+    private static final int EVICTION_FRACTION = 10;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final int maxKeys;
+
+    @Autowired
+    public InMemoryRateLimitStore(final RateLimitProperties properties) {
+        this(properties.getMaxKeys(), System::nanoTime);
+    }
+
+    InMemoryRateLimitStore(final int maxKeys, final LongSupplier clock) {
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryAcquire(final String key, final RateLimitProperties.Bucket bucket) {
+        long now = clock.getAsLong();
+        return acquire(bucketFor(key, now), bucket, now);
+    }
+
+    /**
+     * Удаление простаивающих бакетов
+     */
+    @Scheduled(fixedDelayString = "#{@rateLimitProperties.evictionInterval.toMillis()}")
+    public void evictIdle() {
+        int before = buckets.size();
+        evictIdle(clock.getAsLong());
+        LOG.trace("Очистка бакетов ограничения частоты: {} -> {}", before, buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evictIdle(final long now) {
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+
+    private AtomicLong bucketFor(final String key, final long now) {
+        AtomicLong state = buckets.get(key);
+        if (state != null) {
+            return state;
+        }
+        if (buckets.size() >= maxKeys) {
+            evictOldest(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * Освобождение места под новые ключи; общий бакет для новых ключей не используется,
+     * иначе поток выдуманных имён пользователей блокировал бы вход всем остальным
+     */
+    private synchronized void evictOldest(final long now) {
+        if (buckets.size() < maxKeys) {
+            return;
+        }
+        evictIdle(now);
+        int excess = buckets.size() - maxKeys + Math.max(1, maxKeys / EVICTION_FRACTION);
+        if (excess <= 0) {
+            return;
+        }
+        long[] arrivals = buckets.values().stream().mapToLong(AtomicLong::get).toArray();
+        if (arrivals.length == 0) {
+            return;
+        }
+        Arrays.sort(arrivals);
+        long threshold = arrivals[Math.min(excess, arrivals.length) - 1];
+        int removed = 0;
+        for (var iterator = buckets.values().iterator(); iterator.hasNext() && removed < excess;) {
+            if (iterator.next().get() <= threshold) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        LOG.warn("Превышено количество ключей ограничения частоты ({}), вытеснены наименее загруженные бакеты",
+                maxKeys);
+    }
+
+    private static long acquire(final AtomicLong state, final RateLimitProperties.Bucket bucket, final long now) {
+        long interval = bucket.emissionIntervalNanos();
+        long tolerance = bucket.toleranceNanos();
+        while (true) {
+            long tat = state.get();
+            long newTat = (tat - now > 0 ? tat : now) + interval;
+            long wait = newTat - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (state.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
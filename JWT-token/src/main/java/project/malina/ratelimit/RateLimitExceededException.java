@@ -0,0 +1,24 @@
+package project.malina.ratelimit;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(final Duration retryAfter) {
+        super("Слишком много запросов, повторите попытку позже");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Время ожидания в секундах для заголовка Retry-After
+     *
+     * @return количество секунд (не менее 1)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
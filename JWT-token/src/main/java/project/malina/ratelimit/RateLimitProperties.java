@@ -0,0 +1,91 @@
+package project.malina.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    /**
+     * Включено ли ограничение частоты запросов
+     */
+    private boolean enabled = true;
+
+    /**
+     * Хранилище бакетов: memory (локально в узле) или redis (общее для всех узлов)
+     */
+    private String store = "memory";
+
+    /**
+     * Пути, на которые распространяется ограничение по IP
+     */
+    private List<String> paths = new ArrayList<>(List.of("/auth/**"));
+
+    /**
+     * Максимальное количество ключей в локальном хранилище
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Период очистки простаивающих бакетов
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Лимит запросов с одного IP-адреса
+     */
+    private Bucket ip = new Bucket(20, Duration.ofMinutes(1));
+
+    /**
+     * Лимит попыток входа/регистрации для одного имени пользователя
+     */
+    private Bucket username = new Bucket(5, Duration.ofMinutes(1));
+
+    @Getter
+    @Setter
+    public static class Bucket {
+        /**
+         * Размер бакета (допустимый всплеск запросов)
+         */
+        private int capacity;
+
+        /**
+         * Время полного восполнения бакета
+         */
+        private Duration period;
+
+        public Bucket() {
+        }
+
+        public Bucket(final int capacity, final Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+
+        /**
+         * Интервал восполнения одного токена
+         *
+         * @return интервал в наносекундах
+         */
+        public long emissionIntervalNanos() {
+            return Math.max(1, period.toNanos() / Math.max(1, capacity));
+        }
+
+        /**
+         * Окно допустимого опережения (ёмкость бакета во времени)
+         *
+         * @return окно в наносекундах
+         */
+        public long toleranceNanos() {
+            return emissionIntervalNanos() * Math.max(1, capacity);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package project.malina.ratelimit;
+
+public interface RateLimitStore {
+    /**
+     * Попытка забрать токен из бакета
+     *
+     * @param key    ключ бакета
+     * @param bucket параметры бакета
+     * @return 0, если запрос разрешён, иначе время ожидания в наносекундах
+     */
+    long tryAcquire(String key, RateLimitProperties.Bucket bucket);
+}
@@ -0,0 +1,53 @@
+package project.malina.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+public class RateLimiter {
+    private static final Logger LOG = LogManager.getLogger(RateLimiter.class);
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+
+    /**
+     * Проверка лимита запросов с IP-адреса
+     *
+     * @param address IP-адрес клиента
+     * @throws RateLimitExceededException если лимит исчерпан
+     */
+    public void checkIp(final String address) {
+        check("ip:" + address, properties.getIp());
+    }
+
+    /**
+     * Проверка лимита попыток для имени пользователя
+     * <p>
+     * Вызывается до проверки пароля, чтобы перебор не тратил время на BCrypt
+     *
+     * @param username имя пользователя
+     * @throws RateLimitExceededException если лимит исчерпан
+     */
+    public void checkUsername(final String username) {
+        if (username == null) {
+            return;
+        }
+        check("user:" + username.toLowerCase(Locale.ROOT), properties.getUsername());
+    }
+
+    private void check(final String key, final RateLimitProperties.Bucket bucket) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long waitNanos = store.tryAcquire(key, bucket);
+        if (waitNanos > 0) {
+            LOG.warn("Превышен лимит запросов для ключа '{}'", key);
+            throw new RateLimitExceededException(Duration.ofNanos(waitNanos));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package project.malina.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общее для всех узлов хранилище бакетов в Redis.
+ * <p>
+ * Тот же GCRA, что и в {@link InMemoryRateLimitStore}, выполняется атомарно Lua-скриптом
+ * по часам Redis, а TTL ключа равен времени восполнения бакета.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "rate-limit", name = "store", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+    private static final String KEY_PREFIX = "rate-limit:";
+    private static final RedisScript<Long> GCRA_SCRIPT = new DefaultRedisScript<>("""
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+            if tat < now then tat = now end
+            local newTat = tat + interval
+            local wait = newTat - now - tolerance
+            if wait > 0 then return wait end
+            redis.call('SET', KEYS[1], newTat, 'PX', math.ceil((newTat - now) / 1000))
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public long tryAcquire(final String key, final RateLimitProperties.Bucket bucket) {
+        long intervalMicros = TimeUnit.NANOSECONDS.toMicros(bucket.emissionIntervalNanos());
+        long toleranceMicros = TimeUnit.NANOSECONDS.toMicros(bucket.toleranceNanos());
+        Long waitMicros = redisTemplate.execute(GCRA_SCRIPT, List.of(KEY_PREFIX + key),
+                Long.toString(intervalMicros), Long.toString(toleranceMicros));
+        return waitMicros == null ? 0 : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+    }
+}
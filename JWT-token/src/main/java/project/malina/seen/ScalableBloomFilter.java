@@ -0,0 +1,214 @@
+package project.malina.seen;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Масштабируемый фильтр Блума для множества UUID.
+ * <p>
+ * Фильтр состоит из ступеней: когда текущая ступень заполнена до расчётной ёмкости, добавляется
+ * следующая вдвое большей ёмкости с вдвое меньшей вероятностью ложного срабатывания. Так суммарная
+ * вероятность остаётся не выше заданной, а размер растёт вместе с числом элементов и не резервируется
+ * заранее. Ложноотрицательных ответов не бывает.
+ * <p>
+ * Класс не потокобезопасен.
+ */
+public final class ScalableBloomFilter {
+    private static final byte FORMAT_VERSION = 1;
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+    private final List<Stage> stages = new ArrayList<>();
+    private final double falsePositiveRate;
+
+    /**
+     * @param initialCapacity ёмкость первой ступени
+     * @param falsePositiveRate допустимая вероятность ложного срабатывания для всего фильтра
+     */
+    public ScalableBloomFilter(final int initialCapacity, final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        // Вероятности ступеней p0 * r^i в сумме не превышают p0 / (1 - r) = falsePositiveRate
+        stages.add(Stage.create(Math.max(1, initialCapacity), falsePositiveRate * (1 - TIGHTENING)));
+    }
+
+    private ScalableBloomFilter(final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Добавление элемента
+     *
+     * @return true, если элемента, вероятно, ещё не было
+     */
+    public boolean put(final UUID value) {
+        long h1 = hash1(value);
+        long h2 = hash2(h1, value);
+        if (mightContain(h1, h2)) {
+            return false;
+        }
+        Stage last = stages.get(stages.size() - 1);
+        if (last.count >= last.capacity) {
+            last = Stage.create(last.capacity * GROWTH, last.falsePositiveRate * TIGHTENING);
+            stages.add(last);
+        }
+        last.put(h1, h2);
+        return true;
+    }
+
+    /**
+     * Проверка элемента
+     *
+     * @return false, если элемента точно нет; true, если он, вероятно, есть
+     */
+    public boolean mightContain(final UUID value) {
+        long h1 = hash1(value);
+        return mightContain(h1, hash2(h1, value));
+    }
+
+    /**
+     * Количество добавленных элементов
+     */
+    public long count() {
+        long count = 0;
+        for (Stage stage : stages) {
+            count += stage.count;
+        }
+        return count;
+    }
+
+    int stageCount() {
+        return stages.size();
+    }
+
+    /**
+     * Компактное представление для хранения в seen_filters.filter
+     */
+    public byte[] toBytes() {
+        int size = Byte.BYTES + Double.BYTES + Integer.BYTES;
+        for (Stage stage : stages) {
+            size += 4 * Integer.BYTES + Double.BYTES + stage.bits.length * Long.BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .put(FORMAT_VERSION)
+                .putDouble(falsePositiveRate)
+                .putInt(stages.size());
+        for (Stage stage : stages) {
+            buffer.putInt(stage.capacity)
+                    .putInt(stage.count)
+                    .putInt(stage.hashes)
+                    .putDouble(stage.falsePositiveRate)
+                    .putInt(stage.bits.length);
+            buffer.asLongBuffer().put(stage.bits);
+            buffer.position(buffer.position() + stage.bits.length * Long.BYTES);
+        }
+        return buffer.array();
+    }
+
+    public static ScalableBloomFilter fromBytes(final byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Неизвестная версия формата фильтра: " + version);
+        }
+        ScalableBloomFilter filter = new ScalableBloomFilter(buffer.getDouble());
+        int stageCount = buffer.getInt();
+        for (int s = 0; s < stageCount; s++) {
+            int capacity = buffer.getInt();
+            int count = buffer.getInt();
+            int hashes = buffer.getInt();
+            double falsePositiveRate = buffer.getDouble();
+            long[] bits = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(bits);
+            buffer.position(buffer.position() + bits.length * Long.BYTES);
+            filter.stages.add(new Stage(capacity, count, hashes, falsePositiveRate, bits));
+        }
+        return filter;
+    }
+
+    private boolean mightContain(final long h1, final long h2) {
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hash1(final UUID value) {
+        return mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+    }
+
+    /**
+     * Второй хеш для двойного хеширования h1 + i * h2; нечётный, чтобы обойти все позиции
+     */
+    private static long hash2(final long h1, final UUID value) {
+        return mix(h1 ^ value.getLeastSignificantBits()) | 1;
+    }
+
+    /**
+     * Финальное перемешивание из MurmurHash3 (fmix64)
+     */
+    private static long mix(final long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stage {
+        private final int capacity;
+        private final int hashes;
+        private final double falsePositiveRate;
+        private final long[] bits;
+        private int count;
+
+        private Stage(
+                final int capacity,
+                final int count,
+                final int hashes,
+                final double falsePositiveRate,
+                final long[] bits
+        ) {
+            this.capacity = capacity;
+            this.count = count;
+            this.hashes = hashes;
+            this.falsePositiveRate = falsePositiveRate;
+            this.bits = bits;
+        }
+
+        /**
+         * Размер m = -n ln p / (ln 2)^2 бит и k = m / n ln 2 хешей
+         */
+        static Stage create(final int capacity, final double falsePositiveRate) {
+            long size = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / LN2_SQUARED);
+            int words = (int) Math.max(1, (size + Long.SIZE - 1) / Long.SIZE);
+            int hashes = (int) Math.max(1, Math.round((double) words * Long.SIZE / capacity * Math.log(2)));
+            return new Stage(capacity, 0, hashes, falsePositiveRate, new long[words]);
+        }
+
+        void put(final long h1, final long h2) {
+            long size = (long) bits.length * Long.SIZE;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            count++;
+        }
+
+        boolean mightContain(final long h1, final long h2) {
+            long size = (long) bits.length * Long.SIZE;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((bits[(int) (bit >>> 6)] & 1L << bit) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package project.malina.seen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "malina.seen-filter")
+public class SeenFilterProperties {
+    /**
+     * Ёмкость первой ступени фильтра; следующие ступени вдвое больше
+     */
+    private int initialCapacity = 1_000;
+
+    /**
+     * Допустимая доля ложных срабатываний, каждое из которых проверяется запросом к likes
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Максимальное количество фильтров в памяти узла
+     */
+    private int maxCachedUsers = 100_000;
+
+    /**
+     * Время без обращений, после которого фильтр выгружается из памяти
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Период сохранения изменённых фильтров и выгрузки простаивающих
+     */
+    private Duration flushInterval = Duration.ofSeconds(30);
+
+    /**
+     * Период догрузки свайпов в фильтр, находящийся в памяти: свайпы через другие узлы
+     * становятся видны в фильтре не позже чем через этот срок
+     */
+    private Duration replayInterval = Duration.ofSeconds(30);
+
+    /**
+     * Запас по времени при догрузке свайпов, сделанных после сохранения фильтра
+     */
+    private Duration replayOverlap = Duration.ofMinutes(1);
+}
@@ -0,0 +1,227 @@
+package project.malina.seen;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import project.malina.Repository.SeenFilterRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Фильтр уже просмотренных (оценённых) профилей для ленты.
+ * <p>
+ * Вместо anti-join с likes кандидаты проверяются по фильтру Блума пользователя в памяти;
+ * в базу уходят только те, на которых фильтр сработал, чтобы отсечь ложные срабатывания.
+ * Фильтр загружается при первом обращении: из seen_filters с догрузкой свайпов, сделанных
+ * после его сохранения, или строится заново по likes. Фильтр в памяти не старше replayInterval:
+ * при обращении после этого срока догружаются свайпы, сделанные после предыдущей догрузки, в том числе
+ * через другие узлы. Изменённые фильтры сохраняются пакетно по расписанию, потерянные при падении
+ * узла свайпы восстанавливаются догрузкой при следующей загрузке.
+ */
+@Service
+public class SeenFilterService {
+    private static final Logger LOG = LogManager.getLogger(SeenFilterService.class);
+    private final ConcurrentHashMap<UUID, Entry> filters = new ConcurrentHashMap<>();
+    private final SeenFilterRepository repository;
+    private final SeenFilterProperties properties;
+    private final LongSupplier clock;
+
+    @Autowired
+    public SeenFilterService(final SeenFilterRepository repository, final SeenFilterProperties properties) {
+        this(repository, properties, System::nanoTime);
+    }
+
+    SeenFilterService(
+            final SeenFilterRepository repository,
+            final SeenFilterProperties properties,
+            final LongSupplier clock
+    ) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Учёт свайпа; вызывается после сохранения оценки в likes
+     */
+    public void recordSwipe(final UUID userId, final UUID targetId) {
+        Entry entry = entryFor(userId);
+        synchronized (entry) {
+            if (entry.filter.put(targetId)) {
+                entry.dirty = true;
+            }
+        }
+        if (entry.uncached) {
+            save(userId, entry);
+        }
+    }
+
+    /**
+     * Кандидаты, которых пользователь ещё не оценивал, в исходном порядке
+     */
+    public List<UUID> filterUnseen(final UUID userId, final List<UUID> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Entry entry = entryFor(userId);
+        List<UUID> possiblySeen = new ArrayList<>();
+        synchronized (entry) {
+            for (UUID candidate : candidates) {
+                if (entry.filter.mightContain(candidate)) {
+                    possiblySeen.add(candidate);
+                }
+            }
+        }
+        if (possiblySeen.isEmpty()) {
+            return candidates;
+        }
+        Set<UUID> seen = repository.findSwiped(userId, possiblySeen);
+        LOG.trace("Фильтр просмотренных: {} кандидатов, срабатываний {}, подтверждено {}",
+                candidates.size(), possiblySeen.size(), seen.size());
+        return candidates.stream().filter(candidate -> !seen.contains(candidate)).toList();
+    }
+
+    /**
+     * Сохранение изменённых фильтров и выгрузка простаивающих
+     */
+    @Scheduled(fixedDelayString = "#{@seenFilterProperties.flushInterval.toMillis()}")
+    public void flush() {
+        long idleBefore = clock.getAsLong() - properties.getIdleTimeout().toNanos();
+        filters.forEach((userId, entry) -> {
+            save(userId, entry);
+            if (entry.lastAccess - idleBefore <= 0) {
+                filters.remove(userId, entry);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        filters.forEach(this::save);
+    }
+
+    int size() {
+        return filters.size();
+    }
+
+    private Entry entryFor(final UUID userId) {
+        Entry entry = filters.get(userId);
+        if (entry == null) {
+            entry = load(userId);
+            if (filters.size() < properties.getMaxCachedUsers()) {
+                Entry existing = filters.putIfAbsent(userId, entry);
+                entry = existing != null ? existing : entry;
+            } else {
+                // Память ограничена: фильтр используется для одного запроса и сохраняется сразу
+                LOG.warn("Превышено количество фильтров просмотренных в памяти ({})", properties.getMaxCachedUsers());
+                entry.uncached = true;
+                save(userId, entry);
+            }
+        } else {
+            replayIfStale(userId, entry);
+        }
+        entry.lastAccess = clock.getAsLong();
+        return entry;
+    }
+
+    private Entry load(final UUID userId) {
+        var stored = repository.find(userId);
+        Entry entry;
+        Instant since;
+        if (stored.isPresent()) {
+            entry = new Entry(ScalableBloomFilter.fromBytes(stored.get().filter()), clock.getAsLong());
+            since = stored.get().updatedAt().minus(properties.getReplayOverlap());
+        } else {
+            entry = new Entry(new ScalableBloomFilter(properties.getInitialCapacity(),
+                    properties.getFalsePositiveRate()), clock.getAsLong());
+            since = null;
+        }
+        entry.replayedUntil = Instant.now();
+        long before = entry.filter.count();
+        replay(userId, entry, since);
+        LOG.debug("Загружен фильтр просмотренных пользователя {}: {} записей, догружено {}",
+                userId, entry.filter.count(), entry.filter.count() - before);
+        return entry;
+    }
+
+    /**
+     * Догрузка свайпов, сделанных после предыдущей догрузки; одновременно её выполняет один поток
+     */
+    private void replayIfStale(final UUID userId, final Entry entry) {
+        long now = clock.getAsLong();
+        Instant since;
+        synchronized (entry) {
+            if (now - entry.replayedAt < properties.getReplayInterval().toNanos()) {
+                return;
+            }
+            entry.replayedAt = now;
+            since = entry.replayedUntil.minus(properties.getReplayOverlap());
+        }
+        Instant until = Instant.now();
+        replay(userId, entry, since);
+        // Не сдвигается при ошибке: следующая догрузка начнётся с того же момента
+        synchronized (entry) {
+            entry.replayedUntil = until;
+        }
+    }
+
+    private void replay(final UUID userId, final Entry entry, final Instant since) {
+        repository.forEachSwipedTarget(userId, since, target -> {
+            synchronized (entry) {
+                if (entry.filter.put(target)) {
+                    entry.dirty = true;
+                }
+            }
+        });
+    }
+
+    /**
+     * Сохранение фильтра с моментом, до которого в нём гарантированно учтены свайпы; с этого момента
+     * (за вычетом replayOverlap) начнётся догрузка при следующей загрузке. Время сохранения для этого
+     * не подходит: свайпы через другие узлы после предыдущей догрузки в фильтре ещё отсутствуют
+     */
+    private void save(final UUID userId, final Entry entry) {
+        byte[] bytes;
+        Instant version;
+        synchronized (entry) {
+            if (!entry.dirty) {
+                return;
+            }
+            bytes = entry.filter.toBytes();
+            version = entry.replayedUntil;
+            entry.dirty = false;
+        }
+        try {
+            repository.save(userId, bytes, version);
+        } catch (RuntimeException ex) {
+            // Свайпы не потеряются: при следующей загрузке они догрузятся из likes
+            LOG.error("Не удалось сохранить фильтр просмотренных пользователя {}", userId, ex);
+            synchronized (entry) {
+                entry.dirty = true;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final ScalableBloomFilter filter;
+        private volatile long lastAccess;
+        private boolean dirty;
+        private boolean uncached;
+        private long replayedAt;
+        private Instant replayedUntil;
+
+        Entry(final ScalableBloomFilter filter, final long replayedAt) {
+            this.filter = filter;
+            this.replayedAt = replayedAt;
+        }
+    }
+}
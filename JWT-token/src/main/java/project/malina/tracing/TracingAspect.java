@@ -0,0 +1,54 @@
+package project.malina.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Спаны для методов сервисов и вызовов репозиториев.
+ * <p>
+ * Наблюдения создаются только внутри уже начатого (например, HTTP-запросом) наблюдения,
+ * поэтому фоновые задачи по расписанию не порождают отдельных трасс, а при выключенной
+ * трассировке аспект сводится к одной проверке. Помимо спанов, наблюдения дают таймеры
+ * malina.service и malina.repository с тегами class и method — разбивку задержки по слоям.
+ * Аспект оборачивает транзакцию, поэтому её открытие и фиксация входят в спан.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingAspect {
+    static final String SERVICE_OBSERVATION = "malina.service";
+    static final String REPOSITORY_OBSERVATION = "malina.repository";
+    private final ObservationRegistry registry;
+
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object observeService(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(SERVICE_OBSERVATION, joinPoint);
+    }
+
+    @Around("project.malina.logging.RepositoryLoggingAspect.repositoryCall()")
+    public Object observeRepository(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(REPOSITORY_OBSERVATION, joinPoint);
+    }
+
+    private Object observe(final String name, final ProceedingJoinPoint joinPoint) throws Throwable {
+        if (registry.isNoop() || registry.getCurrentObservation() == null) {
+            return joinPoint.proceed();
+        }
+        String type = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Observation.CheckedCallable<Object, Throwable> call = joinPoint::proceed;
+        return Observation.createNotStarted(name, registry)
+                .contextualName(type + "#" + method)
+                .lowCardinalityKeyValue("class", type)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(call);
+    }
+}
@@ -7,10 +7,9 @@
 -- - Enforces one primary photo per profile.
 -- - Enforces canonical match ordering (user_a < user_b) to prevent duplicates.
 -- - Ensures message sender belongs to the match via trigger.
+-- - Applied by Flyway, which wraps each migration in a transaction.
 -- =====================================================================
 
-BEGIN;
-
 -- Extensions
 CREATE EXTENSION IF NOT EXISTS pgcrypto;  -- gen_random_uuid()
 CREATE EXTENSION IF NOT EXISTS postgis;   -- geography(Point,4326)
@@ -174,8 +173,6 @@ CREATE TABLE bans (
   CONSTRAINT bans_valid_interval CHECK (ends_at IS NULL OR ends_at > starts_at)
 );
 CREATE INDEX bans_user_idx   ON bans(user_id);
--- Quickly find active bans
-CREATE INDEX bans_active_idx ON bans(user_id)
-  WHERE ends_at IS NULL OR ends_at > NOW();
-
-COMMIT;
+-- Quickly find active bans (NOW() is not immutable, so it cannot be
+-- used in a partial index predicate; filter on ends_at via the index)
+CREATE INDEX bans_active_idx ON bans(user_id, ends_at);
@@ -0,0 +1,3 @@
+-- Login name used by the auth module (sign-in/sign-up by username)
+ALTER TABLE users ADD COLUMN username text NOT NULL;
+ALTER TABLE users ADD CONSTRAINT users_username_key UNIQUE (username);
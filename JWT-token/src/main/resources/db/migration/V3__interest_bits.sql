@@ -0,0 +1,63 @@
+-- Interest dictionary and per-profile interest bitsets.
+-- Each distinct interest (lower-cased, trimmed) gets a stable bit index;
+-- profiles.interest_bits holds the set as little-endian 64-bit words, so
+-- overlap between two profiles is popcount(a AND b) over longs.
+-- profiles.interests stays the source of truth for the API; the trigger
+-- keeps interest_bits in sync on every write, including COPY.
+
+CREATE TABLE interests (
+  id   integer GENERATED ALWAYS AS IDENTITY (MINVALUE 0 START WITH 0) PRIMARY KEY,
+  name text NOT NULL UNIQUE
+);
+
+ALTER TABLE profiles ADD COLUMN interest_bits bytea;
+
+-- Interns the names and returns their bitset (NULL for an empty set).
+-- set_bit numbers bits from the least significant bit of byte 0, which
+-- matches little-endian long words on the application side.
+CREATE OR REPLACE FUNCTION interest_bits(names text[]) RETURNS bytea AS $$
+DECLARE
+  ids  integer[];
+  bits bytea;
+  i    integer;
+BEGIN
+  IF names IS NULL THEN
+    RETURN NULL;
+  END IF;
+  -- NOT EXISTS avoids burning identity values (and bit indexes) on conflicts
+  INSERT INTO interests (name)
+  SELECT DISTINCT lower(trim(n)) FROM unnest(names) AS n
+  WHERE trim(n) <> ''
+    AND NOT EXISTS (SELECT 1 FROM interests WHERE name = lower(trim(n)))
+  ON CONFLICT (name) DO NOTHING;
+
+  SELECT array_agg(id) INTO ids
+  FROM interests
+  WHERE name IN (SELECT lower(trim(n)) FROM unnest(names) AS n);
+  IF ids IS NULL THEN
+    RETURN NULL;
+  END IF;
+
+  SELECT decode(repeat('00', (max(x) / 64 + 1) * 8), 'hex') INTO bits FROM unnest(ids) AS x;
+  FOREACH i IN ARRAY ids LOOP
+    bits := set_bit(bits, i, 1);
+  END LOOP;
+  RETURN bits;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION set_interest_bits() RETURNS trigger AS $$
+BEGIN
+  NEW.interest_bits := interest_bits(NEW.interests);
+  RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_profiles_interest_bits
+  BEFORE INSERT OR UPDATE OF interests ON profiles
+  FOR EACH ROW EXECUTE PROCEDURE set_interest_bits();
+
+-- Backfill without bumping updated_at: profile content does not change
+ALTER TABLE profiles DISABLE TRIGGER trg_profiles_updated_at;
+UPDATE profiles SET interest_bits = interest_bits(interests) WHERE interests IS NOT NULL;
+ALTER TABLE profiles ENABLE TRIGGER trg_profiles_updated_at;
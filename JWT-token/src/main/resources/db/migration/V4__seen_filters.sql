@@ -0,0 +1,13 @@
+-- Per-user "already seen" filters for the feed.
+-- filter is a serialized scalable bloom filter over the to_user ids the
+-- user has swiped; updated_at marks the point up to which likes are
+-- reflected, so newer likes are replayed when the filter is loaded.
+
+CREATE TABLE seen_filters (
+  user_id    uuid PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+  filter     bytea NOT NULL,
+  updated_at timestamptz NOT NULL DEFAULT NOW()
+);
+
+-- Replaying recent swipes filters likes by author and creation time
+CREATE INDEX likes_from_user_created_at_idx ON likes(from_user, created_at);
@@ -0,0 +1,8 @@
+-- Reports filed by the content filter have no reporting user.
+-- source tells user complaints from automatic ones; details carries the
+-- free-text part of a complaint (api-spec /reports) or the match found.
+
+ALTER TABLE reports ALTER COLUMN reporter_user_id DROP NOT NULL;
+ALTER TABLE reports ADD COLUMN source text NOT NULL DEFAULT 'user'
+  CONSTRAINT reports_source_check CHECK (source IN ('user', 'auto'));
+ALTER TABLE reports ADD COLUMN details text;
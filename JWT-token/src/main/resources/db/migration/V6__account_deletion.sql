@@ -0,0 +1,20 @@
+-- Asynchronous account deletion.
+-- users.enabled soft-disables an account as soon as deletion is requested;
+-- account_deletions is the job queue for the chunked purge of dependent
+-- rows. Jobs have no FK to users: the row outlives the user as a record
+-- that the purge completed.
+
+ALTER TABLE users ADD COLUMN enabled boolean NOT NULL DEFAULT true;
+
+CREATE TABLE account_deletions (
+  user_id      uuid PRIMARY KEY,
+  requested_at timestamptz NOT NULL DEFAULT NOW(),
+  -- lease: a worker owns the job while started_at is recent
+  started_at   timestamptz,
+  completed_at timestamptz,
+  deleted_rows bigint NOT NULL DEFAULT 0
+);
+CREATE INDEX account_deletions_pending_idx ON account_deletions(requested_at) WHERE completed_at IS NULL;
+
+-- Purge and export look up reports and messages by author
+CREATE INDEX reports_reporter_user_idx ON reports(reporter_user_id);
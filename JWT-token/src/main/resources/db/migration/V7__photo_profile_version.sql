@@ -0,0 +1,20 @@
+-- profiles.updated_at is the version (ETag / Last-Modified) of the profile
+-- card, which includes the photo list; photo changes therefore touch the
+-- owning profile. Photos themselves are immutable per object_key, so
+-- uploaded_at is their version.
+
+CREATE OR REPLACE FUNCTION touch_profile_on_photo_change() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP <> 'INSERT' THEN
+    UPDATE profiles SET updated_at = NOW() WHERE id = OLD.profile_id;
+  END IF;
+  IF TG_OP <> 'DELETE' AND (TG_OP = 'INSERT' OR NEW.profile_id <> OLD.profile_id) THEN
+    UPDATE profiles SET updated_at = NOW() WHERE id = NEW.profile_id;
+  END IF;
+  RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_photos_touch_profile
+  AFTER INSERT OR UPDATE OR DELETE ON photos
+  FOR EACH ROW EXECUTE PROCEDURE touch_profile_on_photo_change();
@@ -0,0 +1,4 @@
+-- Feed candidates for users without a location are the most recently
+-- updated profiles; users with a location are served by the KNN scan on
+-- profiles_location_gix.
+CREATE INDEX profiles_updated_at_idx ON profiles(updated_at);
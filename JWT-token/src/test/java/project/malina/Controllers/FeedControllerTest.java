@@ -0,0 +1,154 @@
+package project.malina.Controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import project.malina.Repository.ProfileInterestRepository;
+import project.malina.Security.User;
+import project.malina.Services.UserService;
+import project.malina.matching.CandidatePool;
+import project.malina.matching.CandidateRankingService;
+import project.malina.matching.CandidateScorer;
+import project.malina.matching.InterestVector;
+import project.malina.matching.MatchingProperties;
+import project.malina.seen.SeenFilterService;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Лента от запроса до ответа: реальные сервис и оценка, подменено только чтение из базы
+ */
+@ExtendWith(MockitoExtension.class)
+class FeedControllerTest {
+
+    private static final UUID USER = new UUID(0, 1);
+    private static final UUID ALICE = new UUID(0, 0xa);
+    private static final UUID BOB = new UUID(0, 0xb);
+    private static final UUID CAROL = new UUID(0, 0xc);
+
+    @Mock
+    private ProfileInterestRepository repository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private SeenFilterService seenFilter;
+
+    private final Map<UUID, InterestVector> profiles = new LinkedHashMap<>();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        MatchingProperties properties = new MatchingProperties();
+        properties.setMaxInterests(128);
+        properties.setPoolSize(3);
+        CandidateRankingService service = new CandidateRankingService(repository, new CandidateScorer(), seenFilter,
+                properties);
+        mvc = MockMvcBuilders.standaloneSetup(new FeedController(userService, service)).build();
+
+        profiles.put(ALICE, InterestVector.of(1));
+        profiles.put(BOB, InterestVector.of(1, 2, 3, 500));
+        profiles.put(CAROL, InterestVector.of(2, 500));
+    }
+
+    @Test
+    @DisplayName("Пул кандидатов отбирается на сервере и ранжируется по интересам пользователя")
+    void ranksServerSelectedPool() throws Exception {
+        when(userService.getCurrentUser()).thenReturn(User.builder().id(USER).username("user1").build());
+        when(repository.findByUserId(USER)).thenReturn(Optional.of(InterestVector.of(2, 3, 500)));
+        when(repository.findCandidateIds(USER, 0, 3)).thenReturn(List.of(ALICE, BOB, CAROL));
+        when(seenFilter.filterUnseen(USER, List.of(ALICE, BOB, CAROL))).thenReturn(List.of(ALICE, BOB, CAROL));
+        stubCandidatePool();
+
+        mvc.perform(get("/feed").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].userId").value(BOB.toString()))
+                .andExpect(jsonPath("$[0].score").value(2))
+                .andExpect(jsonPath("$[1].userId").value(CAROL.toString()))
+                .andExpect(jsonPath("$[1].score").value(1));
+
+        ArgumentCaptor<InterestVector> query = ArgumentCaptor.forClass(InterestVector.class);
+        verify(repository).findCandidatePool(anyCollection(), query.capture());
+        assertThat(query.getValue()).isEqualTo(InterestVector.of(2, 3));
+    }
+
+    @Test
+    @DisplayName("Оценённые кандидаты не попадают в ленту, при нехватке читается следующая страница пула")
+    void skipsSeenCandidates() throws Exception {
+        UUID dave = new UUID(0, 0xd);
+        profiles.put(dave, InterestVector.of(3));
+        when(userService.getCurrentUser()).thenReturn(User.builder().id(USER).username("user1").build());
+        when(repository.findByUserId(USER)).thenReturn(Optional.of(InterestVector.of(2, 3, 500)));
+        when(repository.findCandidateIds(USER, 0, 3)).thenReturn(List.of(ALICE, BOB, CAROL));
+        when(seenFilter.filterUnseen(USER, List.of(ALICE, BOB, CAROL))).thenReturn(List.of(ALICE));
+        when(repository.findCandidateIds(USER, 3, 3)).thenReturn(List.of(dave));
+        when(seenFilter.filterUnseen(USER, List.of(dave))).thenReturn(List.of(dave));
+        stubCandidatePool();
+
+        mvc.perform(get("/feed").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].userId").value(dave.toString()))
+                .andExpect(jsonPath("$[1].userId").value(ALICE.toString()));
+    }
+
+    @Test
+    @DisplayName("Без подходящих кандидатов лента пуста и маски не читаются")
+    void emptyPool() throws Exception {
+        when(userService.getCurrentUser()).thenReturn(User.builder().id(USER).username("user1").build());
+        when(repository.findByUserId(USER)).thenReturn(Optional.empty());
+        when(repository.findCandidateIds(USER, 0, 3)).thenReturn(List.of());
+        when(seenFilter.filterUnseen(USER, List.of())).thenReturn(List.of());
+
+        mvc.perform(get("/feed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(repository, never()).findCandidatePool(any(), any());
+    }
+
+    @Test
+    @DisplayName("Некорректный размер выдачи отклоняется до обращения к базе")
+    void rejectsInvalidLimit() throws Exception {
+        mvc.perform(get("/feed").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(repository, never()).findCandidateIds(any(), anyInt(), anyInt());
+    }
+
+    /**
+     * Пул собирается так же, как в репозитории: по маске запроса из сохранённых профилей
+     */
+    private void stubCandidatePool() {
+        when(repository.findCandidatePool(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return CandidatePool.of(ids.toArray(UUID[]::new),
+                    ids.stream().map(profiles::get).toArray(InterestVector[]::new), invocation.getArgument(1));
+        });
+    }
+}
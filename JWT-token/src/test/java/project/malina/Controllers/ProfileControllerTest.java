@@ -0,0 +1,161 @@
+package project.malina.Controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import project.malina.Security.User;
+import project.malina.Services.UserService;
+import project.malina.profile.HttpCacheProperties;
+import project.malina.profile.ProfileCard;
+import project.malina.profile.ProfileCardService;
+import project.malina.profile.ProfilePhoto;
+import project.malina.profile.ProfileService;
+import project.malina.profile.ProfileUpdate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ProfileControllerTest {
+
+    private static final UUID USER = new UUID(0, 1);
+    private static final UUID PHOTO = new UUID(0, 2);
+    private static final Instant VERSION = Instant.parse("2025-03-01T10:15:30.123456Z");
+
+    @Mock
+    private ProfileCardService service;
+
+    @Mock
+    private ProfileService profileService;
+
+    @Mock
+    private UserService userService;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProfileController(service, profileService, userService,
+                new HttpCacheProperties())).build();
+    }
+
+    @Test
+    @DisplayName("Карточка отдаётся с ETag без Last-Modified и с приватным кэшированием")
+    void returnsCardWithValidators() throws Exception {
+        ProfilePhoto photo = new ProfilePhoto(PHOTO, "photos/1.jpg", VERSION);
+        when(service.findCardVersion(USER)).thenReturn(Optional.of(VERSION));
+        when(service.findCard(USER)).thenReturn(Optional.of(new ProfileCard(USER, "Маша", 25, null, null,
+                List.of("музыка"), PHOTO, List.of(photo), VERSION)));
+
+        mvc.perform(get("/profiles/{userId}", USER))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ProfileController.etag(VERSION)))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andExpect(jsonPath("$.displayName").value("Маша"));
+    }
+
+    @Test
+    @DisplayName("Неизменившаяся карточка отвечает 304 без загрузки данных")
+    void returnsNotModifiedFromVersionOnly() throws Exception {
+        when(service.findCardVersion(USER)).thenReturn(Optional.of(VERSION));
+
+        mvc.perform(get("/profiles/{userId}", USER).header(HttpHeaders.IF_NONE_MATCH, ProfileController.etag(VERSION)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=60")));
+
+        verify(service, never()).findCard(any());
+    }
+
+    @Test
+    @DisplayName("Изменённая карточка отдаётся заново с новым ETag")
+    void returnsCardWhenVersionChanged() throws Exception {
+        Instant updated = VERSION.plusMillis(1);
+        when(service.findCardVersion(USER)).thenReturn(Optional.of(updated));
+        when(service.findCard(USER)).thenReturn(Optional.of(new ProfileCard(USER, "Маша", 25, null, null,
+                List.of(), null, List.of(), updated)));
+
+        mvc.perform(get("/profiles/{userId}", USER).header(HttpHeaders.IF_NONE_MATCH, ProfileController.etag(VERSION)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ProfileController.etag(updated)));
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since для карточки не учитывается, сравнивается только ETag")
+    void ignoresIfModifiedSinceForCard() throws Exception {
+        when(service.findCardVersion(USER)).thenReturn(Optional.of(VERSION));
+        when(service.findCard(USER)).thenReturn(Optional.of(new ProfileCard(USER, "Маша", 25, null, null,
+                List.of(), null, List.of(), VERSION)));
+
+        mvc.perform(get("/profiles/{userId}", USER)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Mar 2025 10:15:31 GMT"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Фотография кэшируется как неизменяемая и проверяется по If-Modified-Since")
+    void photoIsImmutable() throws Exception {
+        when(service.findPhotoVersion(USER, PHOTO)).thenReturn(Optional.of(VERSION));
+
+        mvc.perform(get("/profiles/{userId}/photos/{photoId}", USER, PHOTO)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Mar 2025 10:15:31 GMT"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")));
+
+        verify(service, never()).findPhoto(any(), any());
+    }
+
+    @Test
+    @DisplayName("Отсутствующий профиль — 404")
+    void missingProfileIsNotFound() throws Exception {
+        when(service.findCardVersion(USER)).thenReturn(Optional.empty());
+
+        mvc.perform(get("/profiles/{userId}", USER))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Изменение профиля сохраняется для текущего пользователя")
+    void updatesCurrentProfile() throws Exception {
+        when(userService.getCurrentUser()).thenReturn(User.builder().id(USER).username("user1").build());
+
+        mvc.perform(put("/profiles/me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"displayName\": \"Маша\", \"age\": 25, \"bio\": \"Люблю походы\", "
+                                + "\"interests\": [\"походы\"]}"))
+                .andExpect(status().isNoContent());
+
+        verify(profileService).update(USER, new ProfileUpdate("Маша", 25, "Люблю походы", List.of("походы")));
+    }
+
+    @Test
+    @DisplayName("Некорректный профиль отклоняется до сохранения")
+    void rejectsInvalidProfile() throws Exception {
+        mvc.perform(put("/profiles/me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"displayName\": \"Маша\", \"age\": 5}"))
+                .andExpect(status().isBadRequest());
+
+        verify(profileService, never()).update(any(), any());
+    }
+}
@@ -0,0 +1,143 @@
+package project.malina.Repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import project.malina.account.AccountDeletionService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Шаги очистки и выгрузки аккаунта на схеме из миграций Flyway.
+ * <p>
+ * Порция очистки — одна строка, чтобы каждый шаг выполнялся несколько раз; фоновая задача
+ * в тесте не запускается, очередь обрабатывается явным вызовом.
+ */
+@SpringBootTest(properties = {
+    "malina.account-deletion.chunk-size=1",
+    "malina.account-deletion.poll-interval=1h"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AccountDataRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    // matches хранят пару в порядке user_a < user_b: удаляемый пользователь встречается на обеих позициях
+    private static final UUID OTHER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID DELETED = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID THIRD = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountDataRepository accountData;
+
+    @Autowired
+    private AccountDeletionService deletionService;
+
+    private UUID filedReport;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE users, account_deletions CASCADE");
+        for (UUID user : List.of(OTHER, DELETED, THIRD)) {
+            jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash) VALUES (?, ?, ?, 'x')",
+                    user, "user" + user.getLeastSignificantBits(), user + "@example.com");
+            UUID profile = jdbcTemplate.queryForObject(
+                    "INSERT INTO profiles (user_id, display_name) VALUES (?, 'name') RETURNING id", UUID.class, user);
+            jdbcTemplate.update("INSERT INTO photos (profile_id, object_key) VALUES (?, 'photos/1.jpg')", profile);
+            jdbcTemplate.update("INSERT INTO seen_filters (user_id, filter) VALUES (?, '\\x00')", user);
+            jdbcTemplate.update("INSERT INTO verifications (user_id, method) VALUES (?, 'sms')", user);
+            jdbcTemplate.update("INSERT INTO bans (user_id, reason) VALUES (?, 'spam')", user);
+        }
+        like(DELETED, OTHER);
+        like(OTHER, DELETED);
+        like(THIRD, OTHER);
+        UUID withOther = match(OTHER, DELETED);
+        UUID withThird = match(DELETED, THIRD);
+        UUID unrelated = match(OTHER, THIRD);
+        message(withOther, DELETED, "привет");
+        message(withOther, OTHER, "привет!");
+        message(withThird, THIRD, "как дела?");
+        message(unrelated, OTHER, "не касается удаляемого");
+        filedReport = report(DELETED, OTHER);
+        report(THIRD, DELETED);
+        report(OTHER, THIRD);
+    }
+
+    @Test
+    @DisplayName("Очистка удаляет данные пользователя, а поданные им жалобы обезличивает")
+    void purgesUserDataAndAnonymizesFiledReports() {
+        accountData.enqueueDeletion(DELETED);
+
+        deletionService.processPending();
+
+        assertThat(count("SELECT count(*) FROM users WHERE id = ?", DELETED)).isZero();
+        assertThat(count("SELECT count(*) FROM profiles WHERE user_id = ?", DELETED)).isZero();
+        assertThat(count("SELECT count(*) FROM likes WHERE ? IN (from_user, to_user)", DELETED)).isZero();
+        assertThat(count("SELECT count(*) FROM matches WHERE ? IN (user_a, user_b)", DELETED)).isZero();
+        assertThat(count("SELECT count(*) FROM reports WHERE reported_user_id = ?", DELETED)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT reporter_user_id FROM reports WHERE id = ?",
+                UUID.class, filedReport)).isNull();
+
+        assertThat(count("SELECT count(*) FROM users WHERE id <> ?", DELETED)).isEqualTo(2);
+        assertThat(count("SELECT count(*) FROM photos")).isEqualTo(2);
+        assertThat(count("SELECT count(*) FROM messages")).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM likes")).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM reports")).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT completed_at IS NOT NULL AND deleted_rows > 0 "
+                + "FROM account_deletions WHERE user_id = ?", Boolean.class, DELETED)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Выгрузка содержит и отправленные, и полученные сообщения в парах пользователя")
+    void exportsSentAndReceivedMessages() {
+        List<String> bodies = new ArrayList<>();
+        accountData.forEachExportRow(DELETED, (type, row) -> {
+            if ("message".equals(type)) {
+                bodies.add(row.getString("body"));
+            }
+        });
+
+        assertThat(bodies).containsExactlyInAnyOrder("привет", "привет!", "как дела?");
+    }
+
+    private void like(final UUID from, final UUID to) {
+        jdbcTemplate.update("INSERT INTO likes (from_user, to_user) VALUES (?, ?)", from, to);
+    }
+
+    private UUID match(final UUID userA, final UUID userB) {
+        return jdbcTemplate.queryForObject("INSERT INTO matches (user_a, user_b) VALUES (?, ?) RETURNING id",
+                UUID.class, userA, userB);
+    }
+
+    private void message(final UUID match, final UUID sender, final String body) {
+        jdbcTemplate.update("INSERT INTO messages (match_id, sender_id, body) VALUES (?, ?, ?)", match, sender, body);
+    }
+
+    private UUID report(final UUID reporter, final UUID reported) {
+        return jdbcTemplate.queryForObject("INSERT INTO reports (reporter_user_id, reported_user_id, reason) "
+                + "VALUES (?, ?, 'spam') RETURNING id", UUID.class, reporter, reported);
+    }
+
+    private long count(final String sql, final Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,93 @@
+package project.malina.Repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import project.malina.profile.ProfileCard;
+import project.malina.profile.ProfilePhoto;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Карточки профилей на схеме из миграций Flyway
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ProfileCardRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    private static final UUID USER = new UUID(0, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProfileCardRepository repository;
+
+    private UUID profile;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE users CASCADE");
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash) "
+                + "VALUES (?, 'user1', 'user1@example.com', 'x')", USER);
+        profile = jdbcTemplate.queryForObject("INSERT INTO profiles (user_id, display_name, interests) "
+                + "VALUES (?, 'Маша', ARRAY['музыка']) RETURNING id", UUID.class, USER);
+    }
+
+    @Test
+    @DisplayName("Карточка без фотографий читается одним запросом с пустым списком фотографий")
+    void readsCardWithoutPhotos() {
+        ProfileCard card = repository.findCard(USER).orElseThrow();
+
+        assertThat(card.displayName()).isEqualTo("Маша");
+        assertThat(card.interests()).containsExactly("музыка");
+        assertThat(card.photos()).isEmpty();
+        assertThat(card.primaryPhotoId()).isNull();
+        assertThat(repository.findCardVersion(USER)).contains(card.updatedAt());
+    }
+
+    @Test
+    @DisplayName("Основная фотография идёт первой, версия карточки учитывает последнюю загрузку")
+    void readsPhotosWithPrimaryFirst() {
+        UUID other = photo("photos/1.jpg", false);
+        UUID primary = photo("photos/2.jpg", true);
+
+        ProfileCard card = repository.findCard(USER).orElseThrow();
+
+        assertThat(card.photos()).extracting(ProfilePhoto::id).containsExactly(primary, other);
+        assertThat(card.primaryPhotoId()).isEqualTo(primary);
+        assertThat(repository.findCardVersion(USER)).contains(card.updatedAt());
+    }
+
+    @Test
+    @DisplayName("Профиль и фотографии отключённого аккаунта не отдаются")
+    void hidesDisabledAccounts() {
+        UUID photo = photo("photos/1.jpg", true);
+        jdbcTemplate.update("UPDATE users SET enabled = false WHERE id = ?", USER);
+
+        assertThat(repository.findCardVersion(USER)).isEmpty();
+        assertThat(repository.findCard(USER)).isEmpty();
+        assertThat(repository.findPhotoVersion(USER, photo)).isEmpty();
+        assertThat(repository.findPhoto(USER, photo)).isEmpty();
+    }
+
+    private UUID photo(final String objectKey, final boolean primary) {
+        return jdbcTemplate.queryForObject("INSERT INTO photos (profile_id, object_key, is_primary) "
+                + "VALUES (?, ?, ?) RETURNING id", UUID.class, profile, objectKey, primary);
+    }
+}
@@ -0,0 +1,345 @@
+package project.malina.Repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import project.malina.matching.InterestVector;
+import project.malina.profile.ProfileUpdate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов всех запросов репозиториев на схеме из миграций Flyway.
+ * <p>
+ * Каждый метод запроса вызывается с тестовыми аргументами, перехваченный SQL проверяется
+ * через EXPLAIN с enable_seqscan = off: если планировщик всё равно выбирает Seq Scan,
+ * значит ни один индекс не покрывает запрос и на большой таблице он будет читать её целиком.
+ * <p>
+ * Проверяются и репозитории Spring Data, и классы с @Repository на JdbcTemplate: у последних
+ * вызываются все публичные методы, а SQL, выбираемый по аргументу (например, шаги очистки
+ * аккаунта), берётся из строковых констант класса. SQL перехватывается на уровне DataSource.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import(RepositoryQueryPlanTest.SqlCaptureConfiguration.class)
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Запросы репозиториев не используют последовательное сканирование таблиц")
+    void repositoryQueriesAreCoveredByIndexes() throws SQLException {
+        Map<String, String> statements = new LinkedHashMap<>();
+        Repositories repositories = new Repositories(context);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            for (Method method : information.getQueryMethods()) {
+                CAPTURED.clear();
+                invokeAndRollback(repository, method);
+                var name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                CAPTURED.forEach(sql -> statements.putIfAbsent(sql, name));
+            }
+        }
+        for (Object repository : context.getBeansWithAnnotation(Repository.class).values()) {
+            if (repository instanceof org.springframework.data.repository.Repository<?, ?>) {
+                continue;
+            }
+            Class<?> type = AopUtils.getTargetClass(repository);
+            for (String sql : sqlConstants(type)) {
+                statements.putIfAbsent(sql, type.getSimpleName());
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())
+                        || method.isSynthetic()) {
+                    continue;
+                }
+                CAPTURED.clear();
+                invokeAndRollback(repository, method);
+                var name = type.getSimpleName() + "." + method.getName();
+                CAPTURED.forEach(sql -> statements.putIfAbsent(sql, name));
+            }
+        }
+        assertThat(statements).isNotEmpty();
+
+        List<String> violations = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            for (var entry : statements.entrySet()) {
+                var plan = explain(statement, entry.getKey());
+                if (plan.contains("Seq Scan")) {
+                    violations.add(entry.getValue() + ": " + entry.getKey() + "\n" + plan);
+                }
+            }
+        }
+        assertThat(violations).isEmpty();
+    }
+
+    private void invokeAndRollback(final Object repository, final Method method) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            try {
+                ReflectionUtils.invokeMethod(method, repository, arguments(method));
+            } catch (DataAccessException ex) {
+                // Тестовые аргументы могут нарушать ограничения (внешние ключи); SQL к этому моменту
+                // уже перехвачен, а его синтаксис и план проверит EXPLAIN
+            }
+        });
+    }
+
+    /**
+     * SQL из строковых констант класса (String и List строк)
+     */
+    private static List<String> sqlConstants(final Class<?> type) {
+        List<String> sql = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || !Modifier.isFinal(field.getModifiers())) {
+                continue;
+            }
+            ReflectionUtils.makeAccessible(field);
+            Object value = ReflectionUtils.getField(field, null);
+            if (value instanceof String text && isStatement(text)) {
+                sql.add(text);
+            } else if (value instanceof List<?> list) {
+                list.stream()
+                        .filter(String.class::isInstance)
+                        .map(String.class::cast)
+                        .filter(RepositoryQueryPlanTest::isStatement)
+                        .forEach(sql::add);
+            }
+        }
+        return sql;
+    }
+
+    private static boolean isStatement(final String sql) {
+        var normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("select") || normalized.startsWith("update")
+                || normalized.startsWith("delete") || normalized.startsWith("insert");
+    }
+
+    private static Object[] arguments(final Method method) {
+        Object[] arguments = new Object[method.getParameterCount()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = sample(ResolvableType.forMethodParameter(method, i));
+        }
+        return arguments;
+    }
+
+    private static Object sample(final ResolvableType type) {
+        Class<?> raw = type.resolve(Object.class);
+        if (Collection.class.isAssignableFrom(raw)) {
+            Object element = sample(type.asCollection().getGeneric(0));
+            return Set.class.isAssignableFrom(raw) ? Set.of(element) : List.of(element);
+        }
+        if (raw == String.class) {
+            return "sample";
+        }
+        if (raw == UUID.class) {
+            return UUID.randomUUID();
+        }
+        if (raw == Long.class || raw == long.class) {
+            return 1L;
+        }
+        if (raw == Integer.class || raw == int.class) {
+            return 1;
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (raw == Instant.class) {
+            return Instant.now();
+        }
+        if (raw == OffsetDateTime.class) {
+            return OffsetDateTime.now();
+        }
+        if (raw == Duration.class) {
+            return Duration.ofMinutes(1);
+        }
+        if (raw == byte[].class) {
+            return new byte[0];
+        }
+        if (raw == InterestVector.class) {
+            return InterestVector.of(1);
+        }
+        if (raw == ProfileUpdate.class) {
+            return new ProfileUpdate("sample", 25, "sample", List.of("sample"));
+        }
+        if (raw.isEnum()) {
+            return raw.getEnumConstants()[0];
+        }
+        if (Pageable.class.isAssignableFrom(raw)) {
+            return PageRequest.of(0, 20);
+        }
+        if (raw == Sort.class) {
+            return Sort.unsorted();
+        }
+        if (raw.isInterface()) {
+            // Обработчики строк и подобные колбэки: вызовы игнорируются
+            InvocationHandler noop = (proxy, called, args) -> switch (called.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "sample";
+                default -> called.getReturnType() == boolean.class ? Boolean.FALSE : null;
+            };
+            return Proxy.newProxyInstance(raw.getClassLoader(), new Class<?>[] {raw}, noop);
+        }
+        throw new IllegalArgumentException("Нет тестового значения для параметра типа " + type);
+    }
+
+    /**
+     * Получение обобщённого плана запроса: параметры JDBC заменяются на $n,
+     * поэтому план не зависит от конкретных значений
+     */
+    private static String explain(final Statement statement, final String sql) throws SQLException {
+        StringBuilder positional = new StringBuilder();
+        int parameters = 0;
+        boolean quoted = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                positional.append('$').append(++parameters);
+            } else {
+                positional.append(c);
+            }
+        }
+        statement.execute("PREPARE plan_check AS " + positional);
+        try {
+            var execute = new StringBuilder("EXPLAIN EXECUTE plan_check");
+            if (parameters > 0) {
+                execute.append('(').append(String.join(", ", Collections.nCopies(parameters, "NULL")))
+                        .append(')');
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery(execute.toString())) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } finally {
+            statement.execute("DEALLOCATE plan_check");
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfiguration {
+
+        /**
+         * Перехват SQL на уровне DataSource: так видны запросы и Hibernate, и JdbcTemplate
+         */
+        @Bean
+        static BeanPostProcessor statementCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    return bean instanceof DataSource dataSource ? new CapturingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static final class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(final DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capturing(super.getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) throws SQLException {
+            return capturing(super.getConnection(username, password), Connection.class);
+        }
+
+        /**
+         * Обёртка, запоминающая SQL, переданный первым аргументом; созданные Statement тоже оборачиваются
+         */
+        private static <T> T capturing(final T target, final Class<T> type) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (args != null && args.length > 0 && args[0] instanceof String sql && isStatement(sql)
+                        && !"nativeSQL".equals(method.getName())) {
+                    CAPTURED.add(sql);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    return "createStatement".equals(method.getName())
+                            ? capturing((Statement) result, Statement.class)
+                            : result;
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package project.malina.Services;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -17,12 +19,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import project.malina.Repository.UserRepository;
 import project.malina.Security.User;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +39,9 @@ class UserServiceTest {
     @Mock
     private UserRepository repository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -130,6 +140,15 @@ class UserServiceTest {
                 .hasMessage("Пользователь не найден");
     }
 
+    @Test
+    @DisplayName("Аутентификация видит отключение аккаунта")
+    void userDetailsServiceSeesDisabledAccount() {
+        User user = User.builder().username("john").enabled(false).build();
+        when(repository.findByUsername("john")).thenReturn(Optional.of(user));
+
+        assertThat(userService.userDetailsService().loadUserByUsername("john").isEnabled()).isFalse();
+    }
+
     @Nested
     class CurrentUser {
 
@@ -160,4 +179,82 @@ class UserServiceTest {
                     .hasMessage("Текущий пользователь не аутентифицирован");
         }
     }
+
+    @Nested
+    class BulkImport {
+
+        @Test
+        @DisplayName("Импорт делится на порции по IMPORT_CHUNK_SIZE, последняя порция неполная")
+        @SuppressWarnings("unchecked")
+        void savesInChunks() {
+            List<User> users = users(0, 2 * UserService.IMPORT_CHUNK_SIZE + 1);
+            when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+            when(repository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+            when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            List<User> created = userService.createAll(users);
+
+            ArgumentCaptor<List<User>> chunks = ArgumentCaptor.forClass(List.class);
+            verify(repository, times(3)).saveAll(chunks.capture());
+            assertThat(chunks.getAllValues())
+                    .extracting(List::size)
+                    .containsExactly(UserService.IMPORT_CHUNK_SIZE, UserService.IMPORT_CHUNK_SIZE, 1);
+            assertThat(created).containsExactlyElementsOf(users);
+            verify(repository, times(3)).findExistingEmails(anyCollection());
+            verify(entityManager, times(3)).flush();
+            verify(entityManager, times(3)).clear();
+        }
+
+        @Test
+        @DisplayName("Дубликат внутри импорта отклоняется до сохранения, даже если он в другой порции")
+        void rejectsDuplicatesWithinImport() {
+            List<User> users = users(0, UserService.IMPORT_CHUNK_SIZE + 1);
+            users.add(User.builder().username("user0").email("other@example.com").build());
+
+            assertThatThrownBy(() -> userService.createAll(users))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Импортируемые данные содержат дубликаты");
+
+            verify(repository, never()).saveAll(anyList());
+            verify(repository, never()).findExistingEmails(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Email существующего пользователя отклоняет порцию, в которой он встретился")
+        void rejectsExistingEmail() {
+            List<User> users = users(0, UserService.IMPORT_CHUNK_SIZE + 1);
+            when(repository.findExistingEmails(anyCollection()))
+                    .thenReturn(List.of())
+                    .thenReturn(List.of("user500@example.com"));
+            when(repository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+            when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            assertThatThrownBy(() -> userService.createAll(users))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Пользователь с таким email уже существует");
+
+            verify(repository, times(1)).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Имя существующего пользователя отклоняет импорт без сохранения")
+        void rejectsExistingUsername() {
+            when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+            when(repository.findExistingUsernames(anyCollection())).thenReturn(List.of("user1"));
+
+            assertThatThrownBy(() -> userService.createAll(users(0, 3)))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Пользователь с таким именем уже существует");
+
+            verify(repository, never()).saveAll(anyList());
+        }
+
+        private List<User> users(final int from, final int count) {
+            List<User> users = new ArrayList<>(count);
+            for (int i = from; i < from + count; i++) {
+                users.add(User.builder().username("user" + i).email("user" + i + "@example.com").build());
+            }
+            return users;
+        }
+    }
 }
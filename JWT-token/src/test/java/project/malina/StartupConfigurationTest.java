@@ -0,0 +1,38 @@
+package project.malina;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import project.malina.Services.UserService;
+import project.malina.account.AccountDeletionService;
+import project.malina.moderation.ContentFilter;
+import project.malina.seen.SeenFilterService;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupConfigurationTest {
+
+    private final LazyInitializationExcludeFilter filter = StartupConfiguration.eagerStartupBeans();
+
+    @Test
+    @DisplayName("Бины с фоновыми задачами создаются при старте")
+    void scheduledBeansAreEager() {
+        assertThat(isExcluded(AccountDeletionService.class)).isTrue();
+        assertThat(isExcluded(SeenFilterService.class)).isTrue();
+        assertThat(isExcluded(ContentFilter.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Инфраструктура остаётся в списке, остальные бины создаются лениво")
+    void otherBeansStayLazy() {
+        assertThat(isExcluded(DataSource.class)).isTrue();
+        assertThat(isExcluded(UserService.class)).isFalse();
+    }
+
+    private boolean isExcluded(final Class<?> beanType) {
+        return filter.isExcluded("bean", new RootBeanDefinition(), beanType);
+    }
+}
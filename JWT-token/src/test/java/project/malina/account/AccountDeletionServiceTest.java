@@ -0,0 +1,92 @@
+package project.malina.account;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import project.malina.Repository.AccountDataRepository;
+import project.malina.Repository.UserRepository;
+import project.malina.Security.Role;
+import project.malina.Security.User;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountDeletionServiceTest {
+
+    private static final UUID USER = new UUID(0, 1);
+
+    @Mock
+    private AccountDataRepository accountData;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AccountDeletionProperties properties = new AccountDeletionProperties();
+
+    @Test
+    @DisplayName("Запрос удаления отключает аккаунт и ставит задачу в очередь")
+    void requestDisablesAccountAndEnqueues() {
+        User user = User.builder().id(USER).username("user").role(Role.ROLE_USER).build();
+        AccountDeletionService service = new AccountDeletionService(accountData, userRepository, properties);
+
+        service.requestDeletion(user);
+
+        assertThat(user.isEnabled()).isFalse();
+        verify(userRepository).save(user);
+        verify(accountData).enqueueDeletion(USER);
+    }
+
+    @Test
+    @DisplayName("Шаг очистки повторяется, пока порция заполнена; пользователь удаляется последним")
+    void purgesStepsInChunksBeforeDeletingUser() {
+        properties.setChunkSize(2);
+        when(accountData.claimDeletion(properties.getLease()))
+                .thenReturn(Optional.of(USER))
+                .thenReturn(Optional.empty());
+        when(accountData.purgeStepCount()).thenReturn(2);
+        when(accountData.purgeChunk(0, USER, 2)).thenReturn(2, 2, 1);
+        when(accountData.purgeChunk(1, USER, 2)).thenReturn(0);
+        AccountDeletionService service = new AccountDeletionService(accountData, userRepository, properties);
+
+        service.processPending();
+
+        InOrder order = inOrder(accountData, userRepository);
+        order.verify(accountData, times(3)).purgeChunk(0, USER, 2);
+        order.verify(accountData).purgeChunk(1, USER, 2);
+        order.verify(userRepository).deleteById(USER);
+        order.verify(accountData).completeDeletion(USER);
+        verify(accountData, times(2)).recordProgress(USER, 2);
+        verify(accountData).recordProgress(USER, 1);
+    }
+
+    @Test
+    @DisplayName("Ошибка очистки не завершает задачу: она будет повторена после истечения аренды")
+    void failedPurgeIsNotCompleted() {
+        when(accountData.claimDeletion(any())).thenReturn(Optional.of(USER));
+        when(accountData.purgeStepCount()).thenReturn(1);
+        when(accountData.purgeChunk(anyInt(), eq(USER), anyInt())).thenThrow(new QueryTimeoutException("timeout"));
+        AccountDeletionService service = new AccountDeletionService(accountData, userRepository, properties);
+
+        service.processPending();
+
+        verify(accountData, never()).recordProgress(any(), anyLong());
+        verify(userRepository, never()).deleteById(any());
+        verify(accountData, never()).completeDeletion(any());
+    }
+}
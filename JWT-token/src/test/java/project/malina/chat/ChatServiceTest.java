@@ -0,0 +1,57 @@
+package project.malina.chat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.malina.Repository.MessageRepository;
+import project.malina.moderation.ContentFilter;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatServiceTest {
+
+    private static final UUID MATCH = new UUID(0, 1);
+    private static final UUID SENDER = new UUID(0, 2);
+    private static final UUID MESSAGE = new UUID(0, 3);
+
+    @Mock
+    private MessageRepository repository;
+
+    @Mock
+    private ContentFilter contentFilter;
+
+    @InjectMocks
+    private ChatService service;
+
+    @Test
+    @DisplayName("Отправленное сообщение проверяется фильтром содержимого")
+    void screensSentMessage() {
+        ChatMessage message = new ChatMessage(MESSAGE, MATCH, SENDER, "привет", Instant.EPOCH);
+        when(repository.create(MATCH, SENDER, "привет")).thenReturn(Optional.of(message));
+
+        assertThat(service.send(MATCH, SENDER, "привет")).contains(message);
+
+        verify(contentFilter).screenMessage(SENDER, MESSAGE, "привет");
+    }
+
+    @Test
+    @DisplayName("Сообщение в чужую пару не сохраняется и не проверяется")
+    void rejectsForeignMatch() {
+        when(repository.create(MATCH, SENDER, "привет")).thenReturn(Optional.empty());
+
+        assertThat(service.send(MATCH, SENDER, "привет")).isEmpty();
+
+        verifyNoInteractions(contentFilter);
+    }
+}
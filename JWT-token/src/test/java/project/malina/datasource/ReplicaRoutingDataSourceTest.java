@@ -0,0 +1,145 @@
+package project.malina.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Маршрутизация на двух встроенных базах H2, заменяющих primary и реплику
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWritesTracker tracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replica = node("replica");
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), now::get);
+        routeWithLag("SELECT 0").checkReplicationLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ReadYourWritesContext.clear();
+        new JdbcTemplate(primary).execute("DROP TABLE node");
+        new JdbcTemplate(replica).execute("DROP TABLE node");
+    }
+
+    @Test
+    @DisplayName("Read-only транзакции читают с реплики, пишущие работают с primary")
+    void routesReadOnlyTransactionsToReplica() {
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(nodeIn(writeTransaction)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("После записи пользователь читает с primary в течение окна закрепления")
+    void readYourWritesStickinessAfterOwnWrite() {
+        SecurityContextHolder.getContext().setAuthentication(authenticated("alice"));
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+
+        SecurityContextHolder.getContext().setAuthentication(authenticated("bob"));
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("replica");
+
+        SecurityContextHolder.getContext().setAuthentication(authenticated("alice"));
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Первый запрос с токеном после регистрации загружает пользователя с primary")
+    void signUpThenAuthenticatedReadGoesToPrimary() {
+        // Регистрация: аутентификации нет, имя известно из запроса
+        ReadYourWritesContext.setUser("carol");
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        ReadYourWritesContext.clear();
+
+        // Следующий запрос: JwtAuthenticationFilter загружает пользователя до аутентификации
+        ReadYourWritesContext.setUser("carol");
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+
+        // После аутентификации ключ тот же — имя пользователя
+        ReadYourWritesContext.clear();
+        SecurityContextHolder.getContext().setAuthentication(authenticated("carol"));
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+
+        SecurityContextHolder.clearContext();
+        ReadYourWritesContext.setUser("dave");
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("До первой проверки отставания чтение идёт на primary")
+    void readsFromPrimaryUntilLagIsChecked() {
+        routeWithLag("SELECT 0");
+
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Отстающая реплика исключается, и чтение уходит на primary")
+    void fallsBackToPrimaryWhenReplicaLags() {
+        ReplicaRoutingDataSource routing = routeWithLag("SELECT 30");
+        routing.checkReplicationLag();
+
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+    }
+
+    private ReplicaRoutingDataSource routeWithLag(final String lagQuery) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, List.of(replica), tracker, Duration.ofSeconds(5), lagQuery);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(tracker);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return routing;
+    }
+
+    private String nodeIn(final TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource node(final String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static TestingAuthenticationToken authenticated(final String username) {
+        TestingAuthenticationToken token = new TestingAuthenticationToken(username, "password");
+        token.setAuthenticated(true);
+        return token;
+    }
+}
@@ -0,0 +1,102 @@
+package project.malina.matching;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandidateScorerTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID CAROL = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+
+    @Test
+    @DisplayName("Число общих интересов считается по словам маски, в том числе разной длины")
+    void countsOverlapAcrossWords() {
+        InterestVector a = InterestVector.of(1, 63, 64, 130);
+        InterestVector b = InterestVector.of(1, 64, 129);
+
+        assertThat(a.overlap(b)).isEqualTo(2);
+        assertThat(b.overlap(a)).isEqualTo(2);
+        assertThat(a.cardinality()).isEqualTo(4);
+        assertThat(a.overlap(InterestVector.EMPTY)).isZero();
+    }
+
+    @Test
+    @DisplayName("Маска совпадает с форматом bytea: бит i — младший бит байта i / 8")
+    void roundTripsThroughLittleEndianBytes() {
+        InterestVector vector = InterestVector.of(0, 9, 70);
+        byte[] bytes = vector.toBytes();
+
+        assertThat(bytes).hasSize(16);
+        assertThat(bytes[0]).isEqualTo((byte) 0b1);
+        assertThat(bytes[1]).isEqualTo((byte) 0b10);
+        assertThat(bytes[8]).isEqualTo((byte) 0b1000000);
+        assertThat(InterestVector.fromBytes(bytes)).isEqualTo(vector);
+        assertThat(InterestVector.fromBytes(new byte[] {1, 2})).isEqualTo(InterestVector.of(0, 9));
+    }
+
+    @Test
+    @DisplayName("Лучшие кандидаты идут по убыванию оценки, при равенстве — в порядке пула")
+    void ranksByScoreWithStableTies() {
+        CandidatePool pool = CandidatePool.of(
+                new UUID[] {ALICE, BOB, CAROL},
+                new InterestVector[] {InterestVector.of(1), InterestVector.of(1, 2, 3), InterestVector.of(2)},
+                InterestVector.of(1, 2, 3));
+
+        assertThat(new CandidateScorer().topK(InterestVector.of(1, 2, 3), pool, 2))
+                .containsExactly(new ScoredCandidate(BOB, 3), new ScoredCandidate(ALICE, 1));
+    }
+
+    @Test
+    @DisplayName("Пул хранит маски только на длину запроса: старшие слова кандидатов не влияют на оценку")
+    void packsOnlyQueryWords() {
+        InterestVector query = InterestVector.of(1, 2);
+        CandidatePool pool = CandidatePool.of(
+                new UUID[] {ALICE, BOB},
+                new InterestVector[] {InterestVector.of(1, 5_000), InterestVector.of(1, 2, 3)},
+                query);
+
+        assertThat(new CandidateScorer().score(query, pool)).containsExactly(1, 2);
+        assertThat(pool.align(query)).hasSize(1);
+        assertThat(pool.overlap(0, pool.align(query))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Усечение маски оставляет только интересы с индексом меньше границы")
+    void truncatesToDictionaryBound() {
+        InterestVector vector = InterestVector.of(3, 63, 64, 99, 100, 200);
+
+        assertThat(vector.truncate(100)).isEqualTo(InterestVector.of(3, 63, 64, 99));
+        assertThat(vector.truncate(64)).isEqualTo(InterestVector.of(3, 63));
+        assertThat(vector.truncate(100).size()).isEqualTo(2);
+        assertThat(vector.truncate(1_024)).isSameAs(vector);
+        assertThat(vector.truncate(0)).isEqualTo(InterestVector.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Параллельная оценка большого пула совпадает с последовательной")
+    void parallelScoringMatchesSequential() {
+        Random random = new Random(7);
+        int size = 10_000;
+        UUID[] ids = new UUID[size];
+        InterestVector[] vectors = new InterestVector[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = new UUID(0, i);
+            vectors[i] = InterestVector.of(random.nextInt(150), random.nextInt(150), random.nextInt(150));
+        }
+        InterestVector query = InterestVector.of(3, 50, 99, 140);
+        CandidatePool pool = CandidatePool.of(ids, vectors, query);
+
+        CandidateScorer sequential = new CandidateScorer(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+        CandidateScorer parallel = new CandidateScorer(new ForkJoinPool(4), 256);
+
+        assertThat(parallel.score(query, pool)).containsExactly(sequential.score(query, pool));
+        assertThat(parallel.topK(query, pool, 100)).isEqualTo(sequential.topK(query, pool, 100));
+    }
+}
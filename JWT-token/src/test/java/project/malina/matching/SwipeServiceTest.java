@@ -0,0 +1,71 @@
+package project.malina.matching;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.malina.Repository.SwipeRepository;
+import project.malina.seen.SeenFilterService;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SwipeServiceTest {
+
+    private static final UUID USER = new UUID(0, 1);
+    private static final UUID TARGET = new UUID(0, 2);
+    private static final UUID MATCH = new UUID(0, 3);
+
+    @Mock
+    private SwipeRepository repository;
+
+    @Mock
+    private SeenFilterService seenFilter;
+
+    @InjectMocks
+    private SwipeService service;
+
+    @Test
+    @DisplayName("Оценка сохраняется и попадает в фильтр просмотренных, взаимная симпатия возвращает пару")
+    void recordsSwipeInSeenFilter() {
+        when(repository.isActiveUser(TARGET)).thenReturn(true);
+        when(repository.swipe(USER, TARGET, true)).thenReturn(Optional.of(MATCH));
+
+        assertThat(service.swipe(USER, TARGET, true)).contains(new SwipeResult(MATCH));
+
+        verify(seenFilter).recordSwipe(USER, TARGET);
+    }
+
+    @Test
+    @DisplayName("Пропуск кандидата тоже учитывается в фильтре, пара не создаётся")
+    void recordsNegativeSwipe() {
+        when(repository.isActiveUser(TARGET)).thenReturn(true);
+        when(repository.swipe(USER, TARGET, false)).thenReturn(Optional.empty());
+
+        assertThat(service.swipe(USER, TARGET, false)).contains(new SwipeResult(null));
+
+        verify(seenFilter).recordSwipe(USER, TARGET);
+    }
+
+    @Test
+    @DisplayName("Отключённый или несуществующий пользователь не оценивается")
+    void rejectsInactiveTarget() {
+        when(repository.isActiveUser(TARGET)).thenReturn(false);
+
+        assertThat(service.swipe(USER, TARGET, true)).isEmpty();
+
+        verify(repository, never()).swipe(any(), any(), anyBoolean());
+        verifyNoInteractions(seenFilter);
+    }
+}
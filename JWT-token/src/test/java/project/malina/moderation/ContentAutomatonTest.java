@@ -0,0 +1,94 @@
+package project.malina.moderation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentAutomatonTest {
+
+    @Test
+    @DisplayName("Находятся все шаблоны, включая перекрывающиеся и вложенные")
+    void findsOverlappingMatches() {
+        ContentAutomaton automaton = ContentAutomaton.build(List.of(
+                substring(ContentCategory.BANNED, "he"),
+                substring(ContentCategory.BANNED, "she"),
+                substring(ContentCategory.BANNED, "his"),
+                substring(ContentCategory.BANNED, "hers")), 0);
+
+        assertThat(matches(automaton, "ushers")).containsExactly("she@1", "he@2", "hers@2");
+    }
+
+    @Test
+    @DisplayName("Регистр и «ё» не влияют на поиск, режим word требует границ слова")
+    void foldsCaseAndRespectsWordBoundaries() {
+        ContentAutomaton automaton = ContentAutomaton.build(List.of(
+                new ContentPattern(ContentCategory.CONTACT, "телеграм", true),
+                new ContentPattern(ContentCategory.BANNED, "ёлка", true),
+                substring(ContentCategory.LINK, "t.me/")), 0);
+
+        assertThat(matches(automaton, "Пиши в ТЕЛЕГРАМ: T.ME/malina, не в телеграмм"))
+                .containsExactly("телеграм@7", "t.me/@17");
+        assertThat(matches(automaton, "Елка и ЁЛКА, но не ёлками")).containsExactly("ёлка@0", "ёлка@7");
+    }
+
+    @Test
+    @DisplayName("Серия цифр с разделителями распознаётся как телефон")
+    void detectsPhoneNumbers() {
+        ContentAutomaton automaton = ContentAutomaton.build(List.of(), 10);
+
+        assertThat(matches(automaton, "звони +7 (912) 345-67-89 вечером")).containsExactly("<phone>@7");
+        assertThat(matches(automaton, "мне 25, рост 180")).isEmpty();
+        assertThat(matches(automaton, "пиши 912-345-6789 или 89123456789"))
+                .containsExactly("<phone>@5", "<phone>@22");
+        assertThat(matches(automaton, "в 2024 году 8 912 345 67 89")).containsExactly("<phone>@12");
+    }
+
+    @Test
+    @DisplayName("Перечисления чисел и длинные номера не считаются телефоном")
+    void ignoresNumberLists() {
+        ContentAutomaton automaton = ContentAutomaton.build(List.of(), 10);
+
+        assertThat(matches(automaton, "1000 2000 3000")).isEmpty();
+        assertThat(matches(automaton, "цены: 1500, 2000, 2500 и 3000 рублей")).isEmpty();
+        assertThat(matches(automaton, "было 100 200 300    400 500 600")).isEmpty();
+        assertThat(matches(automaton, "заказ 12345678901234567890")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Сканирование не выделяет память")
+    void scansWithoutAllocation() {
+        ContentAutomaton automaton = ContentAutomaton.build(List.of(
+                new ContentPattern(ContentCategory.BANNED, "казино", true),
+                substring(ContentCategory.LINK, "https://")), 10);
+        String text = "Привет! Давай встретимся в кафе, вот сайт https://example.com и телефон 8 912 345 67 89";
+        int[] count = new int[1];
+        MatchListener listener = (pattern, start, end) -> count[0]++;
+        for (int i = 0; i < 20_000; i++) {
+            automaton.scan(text, listener);
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            automaton.scan(text, listener);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(count[0]).isEqualTo(60_000);
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private static ContentPattern substring(final ContentCategory category, final String text) {
+        return new ContentPattern(category, text, false);
+    }
+
+    private static List<String> matches(final ContentAutomaton automaton, final String text) {
+        List<String> found = new ArrayList<>();
+        automaton.scan(text, (pattern, start, end) -> found.add(pattern.text() + "@" + start));
+        return found;
+    }
+}
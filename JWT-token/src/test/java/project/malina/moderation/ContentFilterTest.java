@@ -0,0 +1,63 @@
+package project.malina.moderation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import project.malina.Repository.ReportRepository;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Проверка текстов по словарю из ресурсов приложения; подменена только запись жалоб
+ */
+@ExtendWith(MockitoExtension.class)
+class ContentFilterTest {
+
+    private static final UUID USER = new UUID(0, 1);
+    private static final UUID MESSAGE = new UUID(0, 2);
+
+    @Mock
+    private ReportRepository reports;
+
+    private ContentFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ContentFilter(new ContentFilterProperties(), reports, new DefaultResourceLoader());
+        filter.init();
+    }
+
+    @Test
+    @DisplayName("Сообщение с контактами заводит автоматическую жалобу на отправителя")
+    void filesReportForMessage() {
+        assertThat(filter.screenMessage(USER, MESSAGE, "Пиши мне в Телеграм или звони 8 912 345 67 89")).isFalse();
+
+        verify(reports).createAutomatic(USER, "auto:contact", "message " + MESSAGE + ": «Телеграм»");
+    }
+
+    @Test
+    @DisplayName("Описание профиля со ссылкой и запрещённым словом — одна жалоба со всеми категориями")
+    void filesReportForBio() {
+        assertThat(filter.screenBio(USER, "Лучшее казино: https://example.com")).isFalse();
+
+        verify(reports).createAutomatic(USER, "auto:banned,link", "bio: «казино»");
+    }
+
+    @Test
+    @DisplayName("Текст без нарушений, в том числе с перечислением чисел, жалоб не создаёт")
+    void passesCleanText() {
+        assertThat(filter.screenMessage(USER, MESSAGE, "Билеты по 1000 2000 3000, идём?")).isTrue();
+        assertThat(filter.screenBio(USER, "Люблю походы и музыку")).isTrue();
+        assertThat(filter.screenBio(USER, null)).isTrue();
+
+        verifyNoInteractions(reports);
+    }
+}
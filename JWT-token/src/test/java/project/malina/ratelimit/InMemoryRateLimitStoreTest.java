@@ -0,0 +1,80 @@
+package project.malina.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimitProperties.Bucket bucket = new RateLimitProperties.Bucket(3, Duration.ofSeconds(3));
+
+    @Test
+    @DisplayName("Бакет пропускает всплеск размером с ёмкость и отклоняет следующий запрос")
+    void allowsBurstUpToCapacity() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(10, now::get);
+
+        assertThat(store.tryAcquire("ip:1", bucket)).isZero();
+        assertThat(store.tryAcquire("ip:1", bucket)).isZero();
+        assertThat(store.tryAcquire("ip:1", bucket)).isZero();
+        assertThat(store.tryAcquire("ip:1", bucket)).isEqualTo(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    @DisplayName("Токены восполняются со временем, ключи не влияют друг на друга")
+    void refillsOverTimeIndependentlyPerKey() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(10, now::get);
+        for (int i = 0; i < 3; i++) {
+            store.tryAcquire("ip:1", bucket);
+        }
+
+        assertThat(store.tryAcquire("ip:1", bucket)).isPositive();
+        assertThat(store.tryAcquire("ip:2", bucket)).isZero();
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(store.tryAcquire("ip:1", bucket)).isZero();
+        assertThat(store.tryAcquire("ip:1", bucket)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Простаивающие бакеты удаляются, а количество ключей ограничено")
+    void evictsIdleBucketsAndBoundsMemory() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(2, now::get);
+        store.tryAcquire("a", bucket);
+        store.tryAcquire("b", bucket);
+        store.tryAcquire("c", bucket);
+
+        assertThat(store.size()).isEqualTo(2);
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        store.evictIdle();
+
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("При переполнении вытесняются наименее загруженные бакеты, исчерпанный бакет сохраняется")
+    void overflowEvictsLeastLoadedBuckets() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(2, now::get);
+        for (int i = 0; i < 3; i++) {
+            store.tryAcquire("user:victim", bucket);
+        }
+        store.tryAcquire("user:fake-1", bucket);
+
+        // Новый ключ получает собственный бакет, а не общий с другими
+        assertThat(store.tryAcquire("user:fake-2", bucket)).isZero();
+        assertThat(store.tryAcquire("user:fake-2", bucket)).isZero();
+        assertThat(store.tryAcquire("user:victim", bucket)).isPositive();
+        assertThat(store.size()).isEqualTo(2);
+
+        for (int i = 3; i < 100; i++) {
+            store.tryAcquire("user:fake-" + i, bucket);
+        }
+        assertThat(store.tryAcquire("user:other", bucket)).isZero();
+        assertThat(store.tryAcquire("user:victim", bucket)).isPositive();
+    }
+}
@@ -0,0 +1,54 @@
+package project.malina.seen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScalableBloomFilterTest {
+
+    private final Random random = new Random(11);
+
+    @Test
+    @DisplayName("Фильтр растёт ступенями без ложноотрицательных ответов и держит долю ложных срабатываний")
+    void growsWithoutFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        List<UUID> added = randomIds(20_000);
+        added.forEach(filter::put);
+
+        assertThat(filter.stageCount()).isGreaterThan(1);
+        assertThat(added).allMatch(filter::mightContain);
+
+        long falsePositives = randomIds(100_000).stream().filter(filter::mightContain).count();
+        assertThat(falsePositives / 100_000.0).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("Повторное добавление не увеличивает счётчик, сериализация сохраняет содержимое")
+    void roundTripsThroughBytes() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.01);
+        List<UUID> added = randomIds(50);
+        added.forEach(filter::put);
+        assertThat(filter.put(added.get(0))).isFalse();
+
+        ScalableBloomFilter restored = ScalableBloomFilter.fromBytes(filter.toBytes());
+
+        assertThat(restored.count()).isEqualTo(50);
+        assertThat(restored.stageCount()).isEqualTo(filter.stageCount());
+        assertThat(added).allMatch(restored::mightContain);
+        assertThat(restored.toBytes()).isEqualTo(filter.toBytes());
+    }
+
+    private List<UUID> randomIds(final int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,122 @@
+package project.malina.seen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.malina.Repository.SeenFilterRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeenFilterServiceTest {
+
+    private static final UUID USER = new UUID(0, 1);
+    private static final UUID SWIPED = new UUID(0, 2);
+    private static final UUID FRESH = new UUID(0, 3);
+    private static final UUID RECENT = new UUID(0, 4);
+
+    @Mock
+    private SeenFilterRepository repository;
+
+    private final AtomicLong now = new AtomicLong();
+    private final SeenFilterProperties properties = new SeenFilterProperties();
+
+    @Test
+    @DisplayName("Фильтр строится по likes при первом обращении, кандидаты с срабатыванием проверяются в базе")
+    void buildsFromLikesAndConfirmsHits() {
+        when(repository.find(USER)).thenReturn(Optional.empty());
+        replaySwipes(null, SWIPED);
+        when(repository.findSwiped(USER, List.of(SWIPED))).thenReturn(Set.of(SWIPED));
+        SeenFilterService service = new SeenFilterService(repository, properties, now::get);
+
+        assertThat(service.filterUnseen(USER, List.of(FRESH, SWIPED))).containsExactly(FRESH);
+        assertThat(service.filterUnseen(USER, List.of(FRESH))).containsExactly(FRESH);
+
+        verify(repository, times(1)).find(USER);
+        verify(repository, times(1)).forEachSwipedTarget(eq(USER), any(), any());
+        verify(repository, never()).findSwiped(USER, List.of(FRESH));
+    }
+
+    @Test
+    @DisplayName("Сохранённый фильтр догружается свайпами после сохранения, новые свайпы сохраняются при сбросе")
+    void replaysRecentSwipesAndFlushesChanges() {
+        ScalableBloomFilter stored = new ScalableBloomFilter(10, 0.01);
+        stored.put(SWIPED);
+        Instant savedAt = Instant.parse("2025-01-01T00:00:00Z");
+        when(repository.find(USER))
+                .thenReturn(Optional.of(new SeenFilterRepository.StoredFilter(stored.toBytes(), savedAt)));
+        replaySwipes(savedAt.minus(properties.getReplayOverlap()), RECENT);
+        when(repository.findSwiped(USER, List.of(RECENT))).thenReturn(Set.of(RECENT));
+        SeenFilterService service = new SeenFilterService(repository, properties, now::get);
+
+        Instant loadStarted = Instant.now();
+        assertThat(service.filterUnseen(USER, List.of(RECENT, FRESH))).containsExactly(FRESH);
+        Instant loaded = Instant.now();
+
+        service.recordSwipe(USER, FRESH);
+        now.addAndGet(properties.getIdleTimeout().plus(Duration.ofSeconds(1)).toNanos());
+        service.flush();
+
+        // Версия — момент догрузки при загрузке, а не время сохранения
+        ArgumentCaptor<Instant> version = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).save(eq(USER), any(byte[].class), version.capture());
+        assertThat(version.getValue()).isBetween(loadStarted, loaded);
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Фильтр в памяти догружает свайпы через другие узлы не реже replayInterval")
+    void replaysSwipesIntoCachedFilter() {
+        when(repository.find(USER)).thenReturn(Optional.empty());
+        replaySwipes(null, SWIPED);
+        SeenFilterService service = new SeenFilterService(repository, properties, now::get);
+        service.filterUnseen(USER, List.of(FRESH));
+
+        // Свайп через другой узел: в фильтре этого узла его нет, пока не прошёл replayInterval
+        doAnswer(invocation -> {
+            Consumer<UUID> consumer = invocation.getArgument(2);
+            consumer.accept(RECENT);
+            return null;
+        }).when(repository).forEachSwipedTarget(eq(USER), any(Instant.class), any());
+        when(repository.findSwiped(USER, List.of(RECENT))).thenReturn(Set.of(RECENT));
+
+        now.addAndGet(properties.getReplayInterval().toNanos() - 1);
+        service.filterUnseen(USER, List.of(FRESH));
+        verify(repository, never()).forEachSwipedTarget(eq(USER), any(Instant.class), any());
+
+        now.addAndGet(1);
+        assertThat(service.filterUnseen(USER, List.of(RECENT, FRESH))).containsExactly(FRESH);
+        verify(repository, times(1)).forEachSwipedTarget(eq(USER), any(Instant.class), any());
+        verify(repository, times(1)).find(USER);
+    }
+
+    private void replaySwipes(final Instant since, final UUID... targets) {
+        doAnswer(invocation -> {
+            Consumer<UUID> consumer = invocation.getArgument(2);
+            for (UUID target : targets) {
+                consumer.accept(target);
+            }
+            return null;
+        }).when(repository).forEachSwipedTarget(eq(USER), since == null ? isNull() : eq(since), any());
+    }
+}
@@ -0,0 +1,62 @@
+package project.malina.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import project.malina.Repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Наблюдения для репозиториев Spring Data: методы запросов вызываются через прокси репозитория,
+ * а не через класс с @Repository, поэтому проверяются на настоящем контексте
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RepositoryTracingTest.ObservationConfiguration.class)
+class RepositoryTracingTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestObservationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry.clear();
+    }
+
+    @Test
+    @DisplayName("Метод запроса UserRepository внутри запроса оформляется наблюдением malina.repository")
+    void observesDerivedQueryMethod() {
+        var user = Observation.createNotStarted("http.server.requests", registry)
+                .observe(() -> userRepository.findByUsername("missing"));
+
+        assertThat(user).isEmpty();
+        TestObservationRegistryAssert.assertThat(registry)
+                .hasObservationWithNameEqualTo(TracingAspect.REPOSITORY_OBSERVATION)
+                .that()
+                .hasContextualNameEqualTo("UserRepository#findByUsername")
+                .hasLowCardinalityKeyValue("method", "findByUsername")
+                .hasParentObservationContextMatching(parent -> "http.server.requests".equals(parent.getName()))
+                .hasBeenStopped();
+    }
+
+    @TestConfiguration
+    static class ObservationConfiguration {
+        @Bean
+        TestObservationRegistry observationRegistry() {
+            return TestObservationRegistry.create();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package project.malina.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TracingAspectTest {
+
+    private final TestObservationRegistry registry = TestObservationRegistry.create();
+
+    @Test
+    @DisplayName("Метод сервиса внутри запроса оформляется дочерним наблюдением")
+    void observesServiceCallInsideRequest() {
+        GreetingService service = proxy();
+
+        String greeting = Observation.createNotStarted("http.server.requests", registry)
+                .observe(() -> service.greet("мир"));
+
+        assertThat(greeting).isEqualTo("привет, мир");
+        TestObservationRegistryAssert.assertThat(registry)
+                .hasObservationWithNameEqualTo(TracingAspect.SERVICE_OBSERVATION)
+                .that()
+                .hasContextualNameEqualTo("GreetingService#greet")
+                .hasLowCardinalityKeyValue("class", "GreetingService")
+                .hasLowCardinalityKeyValue("method", "greet")
+                .hasParentObservationContextMatching(parent -> "http.server.requests".equals(parent.getName()))
+                .hasBeenStopped();
+    }
+
+    @Test
+    @DisplayName("Вне запроса наблюдения не создаются")
+    void skipsCallsWithoutParentObservation() {
+        GreetingService service = proxy();
+
+        assertThat(service.greet("мир")).isEqualTo("привет, мир");
+        TestObservationRegistryAssert.assertThat(registry).doesNotHaveAnyObservation();
+    }
+
+    @Test
+    @DisplayName("Исключение метода записывается в наблюдение и пробрасывается дальше")
+    void recordsErrors() {
+        GreetingService service = proxy();
+
+        assertThatThrownBy(() -> Observation.createNotStarted("http.server.requests", registry)
+                .observe(() -> service.greet(null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        TestObservationRegistryAssert.assertThat(registry)
+                .hasObservationWithNameEqualTo(TracingAspect.SERVICE_OBSERVATION)
+                .that()
+                .hasError();
+    }
+
+    private GreetingService proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new GreetingService());
+        factory.addAspect(new TracingAspect(registry));
+        return factory.getProxy();
+    }
+
+    @Service
+    static class GreetingService {
+        String greet(final String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("Имя не задано");
+            }
+            return "привет, " + name;
+        }
+    }
+}